@@ -0,0 +1,15 @@
+#!/bin/sh
+# Builds the platform and the benchmarks with javac and runs them; no network needed.
+# Usage: bench/run.sh [benchmark name regex]
+# Sizes and durations are system properties, e.g.
+#   JAVA_OPTS="-Dsongs=1000,100000 -Dusers=1000 -Dmeasure=3000" bench/run.sh search
+set -e
+cd "$(dirname "$0")/.."
+
+BUILD=bench/build
+rm -rf "$BUILD"
+mkdir -p "$BUILD"
+javac -nowarn -cp "lib/*" -processorpath lib/lombok.jar -d "$BUILD" \
+    $(find src bench/src -name '*.java')
+
+exec java $JAVA_OPTS -cp "$BUILD:lib/*" bench.HotPathBenchmarks "$@"
@@ -0,0 +1,20 @@
+package bench;
+
+/**
+ * One operation measured by the {@link Harness}.
+ */
+@FunctionalInterface
+public interface Benchmark {
+    /**
+     * Gets the operation ready for its next invocation. Not timed.
+     */
+    default void prepare() {
+    }
+
+    /**
+     * Runs the operation once. Timed.
+     *
+     * @return the result of the operation, consumed so the JIT can't drop the work
+     */
+    Object invoke();
+}
@@ -0,0 +1,108 @@
+package bench;
+
+import app.metrics.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.util.regex.Pattern;
+
+/**
+ * Runs benchmarks the way JMH would in its sample time mode, without needing a build to
+ * generate the benchmark code: every case is run for a warmup period whose timings are
+ * dropped, then for a measurement period in which each invocation is timed on its own and
+ * recorded in a {@link LatencyHistogram}.
+ */
+public final class Harness {
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double MEDIAN = 50.0;
+    private static final double P99 = 99.0;
+    private static final String ROW = "%-28s %-24s %10d %12.2f %12.2f %12.2f %12.2f%n";
+    private static final String HEADER = "%-28s %-24s %10s %12s %12s %12s %12s%n";
+
+    private final long warmupNanos;
+    private final long measureNanos;
+    private final Pattern filter;
+    private final PrintStream out;
+    private int sink;
+
+    /**
+     * Instantiates a new Harness.
+     *
+     * @param warmupMillis  how long each case is run before being measured
+     * @param measureMillis how long each case is measured
+     * @param filter        the cases to run, matched against their names
+     * @param out           where the results are printed
+     */
+    public Harness(final long warmupMillis, final long measureMillis, final Pattern filter,
+                   final PrintStream out) {
+        this.warmupNanos = (long) (warmupMillis * NANOS_PER_MILLI);
+        this.measureNanos = (long) (measureMillis * NANOS_PER_MILLI);
+        this.filter = filter;
+        this.out = out;
+    }
+
+    /**
+     * Prints the header of the results table.
+     */
+    public void printHeader() {
+        out.printf(HEADER, "benchmark", "params", "ops", "mean(us)", "p50(us)", "p99(us)",
+                "max(us)");
+    }
+
+    /**
+     * Checks if a case is selected by the filter.
+     *
+     * @param name the name of the case
+     * @return true if the case should be run
+     */
+    public boolean accepts(final String name) {
+        return filter.matcher(name).find();
+    }
+
+    /**
+     * Warms up and measures one case, then prints its row of the results table.
+     *
+     * @param name      the name of the case
+     * @param params    the parameters the case was set up with
+     * @param benchmark the operation to measure
+     */
+    public void run(final String name, final String params, final Benchmark benchmark) {
+        if (!accepts(name)) {
+            return;
+        }
+
+        loop(benchmark, warmupNanos, null);
+        LatencyHistogram histogram = new LatencyHistogram();
+        loop(benchmark, measureNanos, histogram);
+
+        out.printf(ROW, name, params, histogram.getCount(),
+                histogram.getTotal() / NANOS_PER_MICRO / Math.max(1, histogram.getCount()),
+                histogram.getValueAtPercentile(MEDIAN) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(P99) / NANOS_PER_MICRO,
+                histogram.getMax() / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Gets a value derived from every result, so the results are not dead code.
+     *
+     * @return the sink
+     */
+    public int getSink() {
+        return sink;
+    }
+
+    private void loop(final Benchmark benchmark, final long duration,
+                      final LatencyHistogram histogram) {
+        long end = System.nanoTime() + duration;
+        do {
+            benchmark.prepare();
+            long start = System.nanoTime();
+            Object result = benchmark.invoke();
+            long elapsed = System.nanoTime() - start;
+            sink += System.identityHashCode(result);
+            if (histogram != null) {
+                histogram.record(elapsed);
+            }
+        } while (System.nanoTime() < end);
+    }
+}
@@ -0,0 +1,128 @@
+package bench;
+
+import app.Admin;
+import app.audio.Collections.Album;
+import app.player.Player;
+import app.searchBar.Filters;
+import app.searchBar.SearchBar;
+import app.user.User;
+import app.wrapped.Wrapped;
+import fileio.input.CommandInput;
+import fileio.input.FiltersInput;
+
+import java.util.regex.Pattern;
+
+/**
+ * The benchmarks of the hot paths of the platform, run over a grid of catalog and user
+ * counts.
+ * <p>
+ * System properties: {@code songs} and {@code users}, comma separated counts (default
+ * {@value #DEFAULT_SONGS} and {@value #DEFAULT_USERS}); {@code warmup} and {@code measure},
+ * the time in milliseconds spent on each case (default {@value #DEFAULT_WARMUP} and
+ * {@value #DEFAULT_MEASURE}). The optional argument is a regular expression selecting the
+ * benchmarks to run by name.
+ */
+public final class HotPathBenchmarks {
+    private static final String DEFAULT_SONGS = "1000,10000";
+    private static final String DEFAULT_USERS = "10,100";
+    private static final long DEFAULT_WARMUP = 500;
+    private static final long DEFAULT_MEASURE = 1000;
+    private static final int SIMULATED_SECONDS = 600;
+
+    /**
+     * for coding style
+     */
+    private HotPathBenchmarks() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args an optional filter on the benchmark names
+     */
+    public static void main(final String[] args) {
+        Harness harness = new Harness(Long.getLong("warmup", DEFAULT_WARMUP),
+                Long.getLong("measure", DEFAULT_MEASURE),
+                Pattern.compile(args.length > 0 ? args[0] : ""), System.out);
+        harness.printHeader();
+
+        for (String songs : System.getProperty("songs", DEFAULT_SONGS).split(",")) {
+            for (String users : System.getProperty("users", DEFAULT_USERS).split(",")) {
+                PlatformFixture fixture = new PlatformFixture(Integer.parseInt(songs.trim()),
+                        Integer.parseInt(users.trim()));
+                run(harness, fixture);
+            }
+        }
+        Admin.reset();
+        System.out.println("sink " + harness.getSink());
+    }
+
+    private static void run(final Harness harness, final PlatformFixture fixture) {
+        String params = fixture.describe();
+        String firstUser = PlatformFixture.userName(0);
+
+        FiltersInput filtersInput = new FiltersInput();
+        filtersInput.setName("song1");
+        Filters filters = new Filters(filtersInput);
+        SearchBar searchBar = new SearchBar(firstUser);
+        harness.run("searchBar.search", params, () -> searchBar.search(filters, "song"));
+
+        harness.run("admin.updateTimestamp", params, () -> {
+            Admin.updateTimestamp(fixture.nextTimestamp());
+            return null;
+        });
+
+        Album album = Admin.getAlbums().get(0);
+        harness.run("player.simulatePlayer", params, new Benchmark() {
+            private Player player;
+
+            @Override
+            public void prepare() {
+                // the clock stays put while the benchmark runs, so the player's own catchUp()
+                // plays nothing and only the simulated seconds move it
+                player = new Player(new User("player", 0, "", "user"));
+                player.setSource(album, "album");
+                player.pause();
+                player.repeat();
+            }
+
+            @Override
+            public Object invoke() {
+                player.simulatePlayer(SIMULATED_SECONDS);
+                return player;
+            }
+        });
+
+        User user = Admin.getUser(firstUser);
+        harness.run("user.updateListenSongs", params, () -> {
+            user.updateListenSongs();
+            return user;
+        });
+
+        harness.run("admin.getTop5Songs", params, Admin::getTop5Songs);
+        harness.run("admin.getTop5Playlists", params, Admin::getTop5Playlists);
+        harness.run("admin.getTop5Albums", params, Admin::getTop5Albums);
+        harness.run("admin.getTop5Artists", params, Admin::getTop5Artists);
+
+        harness.run("admin.deleteUser", params, new Benchmark() {
+            private CommandInput delete;
+
+            @Override
+            public void prepare() {
+                CommandInput add = fixture.command("addUser", "deleted");
+                add.setType("user");
+                fixture.execute(add);
+                delete = fixture.command("deleteUser", "deleted");
+                Admin.updateTimestamp(delete.getTimestamp());
+            }
+
+            @Override
+            public Object invoke() {
+                return Admin.deleteUser(delete);
+            }
+        });
+
+        CommandInput wrapped = fixture.command("wrapped", firstUser);
+        harness.run("wrapped.wrapped", params, () -> Wrapped.wrapped(wrapped));
+    }
+}
@@ -0,0 +1,182 @@
+package bench;
+
+import app.Admin;
+import app.CommandRegistry;
+import app.catalog.Catalog;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fileio.input.CommandInput;
+import fileio.input.FiltersInput;
+import fileio.input.SongInput;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A synthetic platform for the benchmarks, built on the current thread with the same
+ * commands the input files use. Artists publish albums of {@value #SONGS_PER_ALBUM} songs
+ * until the platform has the requested number of songs, then every user loads one of
+ * the albums, starts playing it and likes its first song.
+ */
+public final class PlatformFixture {
+    public static final int SONGS_PER_ALBUM = 10;
+    public static final int ALBUMS_PER_ARTIST = 10;
+    private static final int SONG_DURATION = 180;
+    private static final int FIRST_YEAR = 1970;
+    private static final int YEARS = 50;
+    private static final int AGE = 30;
+    private static final int TAGS = 20;
+    private static final String[] GENRES = {"pop", "rock", "rap", "jazz", "metal"};
+
+    private final CommandRegistry registry = CommandRegistry.defaults();
+    private final int songs;
+    private final int users;
+    private final int artists;
+    private int timestamp;
+
+    /**
+     * Resets the platform of the current thread and fills it.
+     *
+     * @param songs the number of songs to publish
+     * @param users the number of users listening
+     */
+    public PlatformFixture(final int songs, final int users) {
+        this.songs = songs;
+        this.users = users;
+        this.artists = Math.max(1, songs / (SONGS_PER_ALBUM * ALBUMS_PER_ARTIST));
+
+        Admin.reset();
+        Admin.loadCatalog(new Catalog(List.of(), List.of(), List.of()));
+
+        int published = 0;
+        for (int artist = 0; artist < artists; artist++) {
+            addUser(artistName(artist), "artist");
+            for (int album = 0; album < ALBUMS_PER_ARTIST && published < songs; album++) {
+                published += addAlbum(artist, album, songs - published);
+            }
+        }
+
+        for (int user = 0; user < users; user++) {
+            String username = userName(user);
+            addUser(username, "user");
+
+            CommandInput search = command("search", username);
+            FiltersInput filters = new FiltersInput();
+            filters.setName(albumName(user % artists, 0));
+            search.setType("album");
+            search.setFilters(filters);
+            execute(search);
+
+            CommandInput select = command("select", username);
+            select.setItemNumber(1);
+            execute(select);
+            execute(command("load", username));
+            execute(command("like", username));
+        }
+    }
+
+    /**
+     * Gets the name of a user of the fixture.
+     *
+     * @param user the index of the user
+     * @return the username
+     */
+    public static String userName(final int user) {
+        return "user" + user;
+    }
+
+    /**
+     * Gets the name of an album of the fixture.
+     *
+     * @param artist the index of the artist
+     * @param album  the index of the album of the artist
+     * @return the album name
+     */
+    public static String albumName(final int artist, final int album) {
+        return "album" + artist + "_" + album;
+    }
+
+    /**
+     * Creates a command at the next timestamp of the fixture.
+     *
+     * @param name     the command name
+     * @param username the user giving the command
+     * @return the command
+     */
+    public CommandInput command(final String name, final String username) {
+        CommandInput command = new CommandInput();
+        command.setCommand(name);
+        command.setUsername(username);
+        command.setTimestamp(nextTimestamp());
+        return command;
+    }
+
+    /**
+     * Runs a command on the platform, advancing its clock first, as the replay loop does.
+     *
+     * @param command the command
+     * @return the result of the command
+     */
+    public ObjectNode execute(final CommandInput command) {
+        Admin.updateTimestamp(command.getTimestamp());
+        return registry.dispatch(command);
+    }
+
+    /**
+     * Moves the clock of the fixture one second forward.
+     *
+     * @return the new timestamp
+     */
+    public int nextTimestamp() {
+        return ++timestamp;
+    }
+
+    /**
+     * Describes the size of the fixture.
+     *
+     * @return the parameters of the fixture
+     */
+    public String describe() {
+        return "songs=" + songs + " users=" + users;
+    }
+
+    private void addUser(final String username, final String type) {
+        CommandInput command = command("addUser", username);
+        command.setType(type);
+        command.setAge(AGE);
+        command.setCity("Bucharest");
+        execute(command);
+    }
+
+    private int addAlbum(final int artist, final int album, final int remaining) {
+        String name = albumName(artist, album);
+        int year = FIRST_YEAR + (artist + album) % YEARS;
+        ArrayList<SongInput> albumSongs = new ArrayList<>();
+        for (int track = 0; track < Math.min(SONGS_PER_ALBUM, remaining); track++) {
+            SongInput song = new SongInput();
+            song.setName("song" + artist + "_" + album + "_" + track);
+            song.setDuration(SONG_DURATION);
+            song.setAlbum(name);
+            ArrayList<String> tags = new ArrayList<>();
+            tags.add("#tag" + (artist + track) % TAGS);
+            tags.add("#tag" + (album + track) % TAGS);
+            song.setTags(tags);
+            song.setLyrics("lyrics of track " + track + " from " + name);
+            song.setGenre(GENRES[(artist + track) % GENRES.length]);
+            song.setReleaseYear(year);
+            song.setArtist(artistName(artist));
+            albumSongs.add(song);
+        }
+
+        CommandInput command = command("addAlbum", artistName(artist));
+        command.setName(name);
+        command.setReleaseYear(year);
+        command.setDescription("description of " + name);
+        command.setSongs(albumSongs);
+        execute(command);
+        return albumSongs.size();
+    }
+
+    private static String artistName(final int artist) {
+        return "artist" + artist;
+    }
+}
@@ -1,12 +1,20 @@
 package app;
 
 import app.audio.Collections.Album;
+import app.audio.Collections.AudioCollection;
 import app.audio.Collections.Playlist;
 import app.audio.Collections.Podcast;
 import app.audio.Files.Episode;
 import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+import app.catalog.Catalog;
+import app.player.BookmarkStore;
 import app.player.Player;
 import app.player.PlayerSource;
+import app.player.PodcastBookmark;
+import app.searchBar.Filters;
+import app.searchBar.NameIndex;
+import app.searchBar.SongIndex;
 import app.user.Artist;
 import app.user.Host;
 import app.user.User;
@@ -18,11 +26,21 @@ import fileio.input.EpisodeInput;
 import fileio.input.PodcastInput;
 import fileio.input.SongInput;
 import fileio.input.UserInput;
-import lombok.Getter;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import static app.user.Artist.objectMapper;
 
@@ -31,38 +49,187 @@ import static app.user.Artist.objectMapper;
  * The type Admin.
  */
 public final class Admin {
-    @Getter
-    private static List<User> users = new ArrayList<>();
-    @Getter
-    private static List<Artist> artists = new ArrayList<>();
-    @Getter
-    private static List<Host> hosts = new ArrayList<>();
-    private static List<Song> songs = new ArrayList<>();
-    private static List<Podcast> podcasts = new ArrayList<>();
-    private static List<Album> albums = new ArrayList<>();
-    private static int timestamp = 0;
+    private static final ThreadLocal<PlatformContext> CONTEXT =
+            ThreadLocal.withInitial(PlatformContext::new);
     private static final int TOP_LIMIT = 5;
 
     // Private constructor to prevent instantiation
     private Admin() {
     }
 
+    /**
+     * Gets the context of the run executing on the current thread.
+     *
+     * @return the platform context
+     */
+    public static PlatformContext getContext() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * Gets users.
+     *
+     * @return the users
+     */
+    public static List<User> getUsers() {
+        return getContext().getUsers();
+    }
+
+    /**
+     * Gets artists.
+     *
+     * @return the artists
+     */
+    public static List<Artist> getArtists() {
+        return getContext().getArtists();
+    }
+
+    /**
+     * Gets hosts.
+     *
+     * @return the hosts
+     */
+    public static List<Host> getHosts() {
+        return getContext().getHosts();
+    }
+
     /**
      * Update the list of songs.
      *
      * @param songsUpdate The updated list of songs.
      */
     public static void updateSongList(final List<Song> songsUpdate) {
-        songs = songsUpdate;
+        getContext().setSongs(songsUpdate);
+        getContext().setSongsShared(false);
+        indexSongs();
+        markLibraryChanged();
+    }
+
+    /**
+     * Records that an artist published an album. The album must already be in the albums
+     * of its owner.
+     *
+     * @param album the album
+     */
+    public static void addAlbum(final Album album) {
+        User owner = getUser(album.getOwner());
+        getContext().getAlbumsByOwner().put(getContext().getUserRanks().get(owner),
+                owner.getAlbums());
+        getContext().getAlbumLeaderboard().add(album);
+        getContext().getAlbumNames().add(album);
+        int likes = 0;
+        for (Song song : album.getSongs()) {
+            getContext().getSongAlbums().put(song, album);
+            likes += getSongLikes(song);
+        }
+        if (likes != 0) {
+            updateAlbumLikes(album, likes);
+            updateArtistLikes(getArtist(album.getOwner()), likes);
+        }
+        markLibraryChanged();
+    }
+
+    /**
+     * Records that an artist removed an album. The album must already be gone from the
+     * albums of its owner.
+     *
+     * @param album the album
+     */
+    public static void removeAlbum(final Album album) {
+        User owner = getUser(album.getOwner());
+        if (owner.getAlbums().isEmpty()) {
+            getContext().getAlbumsByOwner().remove(getContext().getUserRanks().get(owner));
+        }
+        getContext().getAlbumLeaderboard().remove(album);
+        getContext().getAlbumNames().remove(album);
+        Integer likes = getContext().getAlbumLikes().remove(album);
+        if (likes != null) {
+            updateArtistLikes(getArtist(album.getOwner()), -likes);
+        }
+        markLibraryChanged();
+    }
+
+    /**
+     * Records that a user created a playlist. The playlist must already be in the playlists
+     * of its owner.
+     *
+     * @param playlist the playlist
+     */
+    public static void addPlaylist(final Playlist playlist) {
+        User owner = getUser(playlist.getOwner());
+        getContext().getPlaylistsByOwner().put(getContext().getUserRanks().get(owner),
+                owner.getPlaylists());
+        getContext().getPlaylistLeaderboard().add(playlist);
+        getContext().getPlaylistNames().add(playlist);
+        markLibraryChanged();
+    }
+
+    /**
+     * Takes a playlist out of the playlist leaderboard, before its followers change.
+     *
+     * @param playlist the playlist
+     * @return true if the playlist was in the leaderboard
+     */
+    public static boolean unrankPlaylist(final Playlist playlist) {
+        return getContext().getPlaylistLeaderboard().remove(playlist);
+    }
+
+    /**
+     * Puts a playlist back in the playlist leaderboard, after its followers changed.
+     *
+     * @param playlist the playlist
+     */
+    public static void rankPlaylist(final Playlist playlist) {
+        getContext().getPlaylistLeaderboard().add(playlist);
+    }
+
+    /**
+     * Creates an empty playlist leaderboard: playlists by followers, the most followed
+     * first, then by creation timestamp, then in the order of getPlaylists, which is the
+     * rank of their owner and then the order they were created in.
+     *
+     * @return the leaderboard
+     */
+    public static TreeSet<Playlist> newPlaylistLeaderboard() {
+        return new TreeSet<>(Comparator.comparingInt(Playlist::getFollowers).reversed()
+                .thenComparingInt(Playlist::getTimestamp)
+                .thenComparingLong(Admin::getOwnerRank)
+                .thenComparingLong(Playlist::getSequence));
+    }
+
+    private static long getOwnerRank(final AudioCollection collection) {
+        return getContext().getUserRanks().get(getUser(collection.getOwner()));
+    }
+
+    /**
+     * Creates an empty name index for albums or playlists, which are found in the order of
+     * their owners in the users list, then in creation order.
+     *
+     * @param <T> the type of the collections
+     * @return the name index
+     */
+    public static <T extends AudioCollection> NameIndex<T> newOwnedNameIndex() {
+        return new NameIndex<>(List.of(), Comparator.<T>comparingLong(Admin::getOwnerRank)
+                .thenComparing(NameIndex.CREATED));
+    }
+
+    /**
+     * Records a change to the library of the run, so the views returned by getAlbums and
+     * getPlaylists are rebuilt and the library version moves on. Called for every change
+     * to the songs, podcasts, albums or playlists, or to the order of their owners.
+     */
+    public static void markLibraryChanged() {
+        getContext().setLibraryVersion(getContext().getLibraryVersion() + 1);
     }
 
     /**
-     * Update the list of albums.
+     * Gets the version of the library of the run. Two reads returning the same version
+     * saw the same songs, podcasts, albums and playlists, in the same order.
      *
-     * @param albumsUpdate The updated list of albums.
+     * @return the library version
      */
-    public static void updateAlbumList(final List<Album> albumsUpdate) {
-        albums = albumsUpdate;
+    public static long getLibraryVersion() {
+        return getContext().getLibraryVersion();
     }
 
     /**
@@ -71,7 +238,205 @@ public final class Admin {
      * @param podcastsUpdate The updated list of podcasts.
      */
     public static void updatePodcastList(final List<Podcast> podcastsUpdate) {
-        podcasts = podcastsUpdate;
+        getContext().setPodcasts(podcastsUpdate);
+        getContext().setPodcastsShared(false);
+        indexPodcasts();
+        markLibraryChanged();
+    }
+
+    /**
+     * Adds songs at the end of the list of songs.
+     *
+     * @param songs the songs to add
+     */
+    public static void addSongs(final Collection<Song> songs) {
+        if (getContext().isSongsShared()) {
+            getContext().setSongs(new ArrayList<>(getContext().getSongs()));
+            getContext().setSongsShared(false);
+        }
+        getContext().getSongs().addAll(songs);
+        for (Song song : songs) {
+            getContext().getSongsByName()
+                    .computeIfAbsent(song.getName(), name -> new ArrayList<>(1)).add(song);
+            if (getContext().getSongIndex() != null) {
+                getContext().getSongIndex().add(song);
+            }
+        }
+        markLibraryChanged();
+    }
+
+    /**
+     * Removes songs from the list of songs.
+     *
+     * @param songs the songs to remove
+     */
+    public static void removeSongs(final Collection<Song> songs) {
+        if (getContext().isSongsShared()) {
+            getContext().setSongs(new ArrayList<>(getContext().getSongs()));
+            getContext().setSongsShared(false);
+        }
+        Set<Song> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(songs);
+        getContext().getSongs().removeIf(removed::contains);
+        getContext().getSongLeaderboard().removeAll(removed);
+        if (getContext().getSongIndex() != null) {
+            getContext().getSongIndex().removeAll(removed);
+        }
+
+        for (Song song : removed) {
+            // a song gone from the library no longer counts for its album
+            getContext().getSongAlbums().remove(song);
+            List<Song> bucket = getContext().getSongsByName().get(song.getName());
+            if (bucket != null) {
+                bucket.removeIf(entry -> entry == song);
+                if (bucket.isEmpty()) {
+                    getContext().getSongsByName().remove(song.getName());
+                }
+            }
+        }
+        markLibraryChanged();
+    }
+
+    /**
+     * Adds a podcast at the end of the list of podcasts.
+     *
+     * @param podcast the podcast to add
+     */
+    public static void addPodcast(final Podcast podcast) {
+        if (getContext().isPodcastsShared()) {
+            getContext().setPodcasts(new ArrayList<>(getContext().getPodcasts()));
+            getContext().setPodcastsShared(false);
+        }
+        getContext().getPodcasts().add(podcast);
+        getContext().getPodcastsByName()
+                .computeIfAbsent(podcast.getName(), name -> new ArrayList<>(1)).add(podcast);
+        if (getContext().getPodcastNames() != null) {
+            getContext().getPodcastNames().add(podcast);
+        }
+        markLibraryChanged();
+    }
+
+    /**
+     * Removes a podcast from the list of podcasts.
+     *
+     * @param podcast the podcast to remove
+     */
+    public static void removePodcast(final Podcast podcast) {
+        if (getContext().isPodcastsShared()) {
+            getContext().setPodcasts(new ArrayList<>(getContext().getPodcasts()));
+            getContext().setPodcastsShared(false);
+        }
+        getContext().getPodcasts().remove(podcast);
+        if (getContext().getPodcastNames() != null) {
+            getContext().getPodcastNames().remove(podcast);
+        }
+
+        List<Podcast> bucket = getContext().getPodcastsByName().get(podcast.getName());
+        if (bucket != null) {
+            bucket.remove(podcast);
+            if (bucket.isEmpty()) {
+                getContext().getPodcastsByName().remove(podcast.getName());
+            }
+        }
+        markLibraryChanged();
+    }
+
+    // gives the users new ranks after their list was reordered
+    private static void rankUsers() {
+        PlatformContext context = getContext();
+        TreeMap<Long, List<Album>> albumsByOwner = new TreeMap<>();
+        TreeMap<Long, List<Playlist>> playlistsByOwner = new TreeMap<>();
+        long rank = 0;
+        for (User user : context.getUsers()) {
+            Long oldRank = context.getUserRanks().put(user, rank);
+            List<Album> albums = context.getAlbumsByOwner().get(oldRank);
+            if (albums != null) {
+                albumsByOwner.put(rank, albums);
+            }
+            List<Playlist> playlists = context.getPlaylistsByOwner().get(oldRank);
+            if (playlists != null) {
+                playlistsByOwner.put(rank, playlists);
+            }
+            rank++;
+        }
+        context.setNextUserRank(rank);
+        context.setAlbumsByOwner(albumsByOwner);
+        context.setPlaylistsByOwner(playlistsByOwner);
+
+        TreeSet<Playlist> playlistLeaderboard = newPlaylistLeaderboard();
+        for (List<Playlist> playlists : playlistsByOwner.values()) {
+            playlistLeaderboard.addAll(playlists);
+        }
+        context.setPlaylistLeaderboard(playlistLeaderboard);
+
+        TreeSet<Album> albumLeaderboard = newAlbumLeaderboard();
+        for (List<Album> albums : albumsByOwner.values()) {
+            albumLeaderboard.addAll(albums);
+        }
+        context.setAlbumLeaderboard(albumLeaderboard);
+        context.getAlbumNames().reorder();
+        context.getPlaylistNames().reorder();
+        markLibraryChanged();
+    }
+
+    private static void indexSongs() {
+        Map<String, List<Song>> songsByName = new HashMap<>();
+        for (Song song : getContext().getSongs()) {
+            songsByName.computeIfAbsent(song.getName(), name -> new ArrayList<>(1)).add(song);
+        }
+        getContext().setSongsByName(songsByName);
+        getContext().setSongIndex(null);
+
+        TreeSet<Song> leaderboard = newSongLeaderboard();
+        for (Song song : getContext().getSongs()) {
+            if (getSongLikes(song) != 0) {
+                leaderboard.add(song);
+            }
+        }
+        getContext().setSongLeaderboard(leaderboard);
+    }
+
+    private static void indexPodcasts() {
+        Map<String, List<Podcast>> podcastsByName = new HashMap<>();
+        for (Podcast podcast : getContext().getPodcasts()) {
+            podcastsByName.computeIfAbsent(podcast.getName(), name -> new ArrayList<>(1))
+                    .add(podcast);
+        }
+        getContext().setPodcastsByName(podcastsByName);
+        getContext().setPodcastNames(null);
+    }
+
+    private static void addToUsers(final User user) {
+        PlatformContext context = getContext();
+        context.getUsers().add(user);
+        context.getUsersByName().putIfAbsent(user.getUsername(), user);
+        context.getUserRanks().put(user, context.getNextUserRank());
+        context.setNextUserRank(context.getNextUserRank() + 1);
+    }
+
+    private static void removeFromUsers(final User user) {
+        getContext().getPlaylistLeaderboard().removeAll(user.getPlaylists());
+        getContext().getAlbumLeaderboard().removeAll(user.getAlbums());
+        getContext().getAlbumNames().removeAll(user.getAlbums());
+        getContext().getPlaylistNames().removeAll(user.getPlaylists());
+        getUsers().remove(user);
+        user.getPlayer().detach();
+        Long rank = getContext().getUserRanks().remove(user);
+        getContext().getAlbumsByOwner().remove(rank);
+        getContext().getPlaylistsByOwner().remove(rank);
+        markLibraryChanged();
+        if (getContext().getUsersByName().remove(user.getUsername(), user)) {
+            // another user with the same name, if the library had one, takes its place
+            for (User other : getUsers()) {
+                if (other.getUsername().equals(user.getUsername())) {
+                    getContext().getUsersByName().put(other.getUsername(), other);
+                    // its collections now rank as the owner that took the name
+                    getContext().getAlbumNames().reorder();
+                    getContext().getPlaylistNames().reorder();
+                    break;
+                }
+            }
+        }
     }
 
     /**
@@ -80,12 +445,43 @@ public final class Admin {
      * @param userInputList the user input list
      */
     public static void setUsers(final List<UserInput> userInputList) {
-        users = new ArrayList<>();
+        getContext().setUsers(new ArrayList<>());
+        getContext().setUsersByName(new HashMap<>());
+        getContext().setUserRanks(new HashMap<>());
+        getContext().setAlbumsByOwner(new TreeMap<>());
+        getContext().setPlaylistsByOwner(new TreeMap<>());
+        getContext().setPlaylistLeaderboard(newPlaylistLeaderboard());
+        getContext().setSongAlbums(new HashMap<>());
+        getContext().setAlbumLikes(new HashMap<>());
+        getContext().setAlbumLeaderboard(newAlbumLeaderboard());
+        getContext().setAlbumNames(newOwnedNameIndex());
+        getContext().setPlaylistNames(newOwnedNameIndex());
         for (UserInput userInput : userInputList) {
-            users.add(new User(userInput.getUsername(),
+            addToUsers(new User(userInput.getUsername(),
                     userInput.getAge(), userInput.getCity(),
                     "user"));
         }
+        markLibraryChanged();
+    }
+
+    /**
+     * Loads the library of a catalog into the current run. The songs and podcasts of the
+     * catalog are shared with the run instead of being rebuilt; the users are created anew,
+     * since they hold the state of the run. Whatever a previous run left on the current
+     * thread is dropped first.
+     *
+     * @param catalog the catalog
+     */
+    public static void loadCatalog(final Catalog catalog) {
+        reset();
+        getContext().setSongs(catalog.getSongs());
+        getContext().setSongsShared(true);
+        indexSongs();
+        getContext().setPodcasts(catalog.getPodcasts());
+        getContext().setPodcastsShared(true);
+        indexPodcasts();
+        markLibraryChanged();
+        setUsers(catalog.getUsers());
     }
 
     /**
@@ -94,12 +490,13 @@ public final class Admin {
      * @param songInputList the song input list
      */
     public static void setSongs(final List<SongInput> songInputList) {
-        songs = new ArrayList<>();
+        List<Song> songs = new ArrayList<>();
         for (SongInput songInput : songInputList) {
             songs.add(new Song(songInput.getName(), songInput.getDuration(), songInput.getAlbum(),
                     songInput.getTags(), songInput.getLyrics(), songInput.getGenre(),
                     songInput.getReleaseYear(), songInput.getArtist()));
         }
+        updateSongList(songs);
     }
 
     /**
@@ -108,7 +505,7 @@ public final class Admin {
      * @param podcastInputList the podcast input list
      */
     public static void setPodcasts(final List<PodcastInput> podcastInputList) {
-        podcasts = new ArrayList<>();
+        List<Podcast> podcasts = new ArrayList<>();
         for (PodcastInput podcastInput : podcastInputList) {
             List<Episode> episodes = new ArrayList<>();
             for (EpisodeInput episodeInput : podcastInput.getEpisodes()) {
@@ -118,51 +515,71 @@ public final class Admin {
             }
             podcasts.add(new Podcast(podcastInput.getName(), podcastInput.getOwner(), episodes));
         }
+        updatePodcastList(podcasts);
     }
 
     /**
-     * Gets songs.
+     * Gets songs. The list is a read-only view, without a copy; use addSongs and
+     * removeSongs to change it.
      *
      * @return the songs
      */
     public static List<Song> getSongs() {
-        return new ArrayList<>(songs);
+        return Collections.unmodifiableList(getContext().getSongs());
     }
 
     /**
-     * Gets albums.
+     * Gets albums, those of every user in the order of the users. The list is read-only
+     * and shared by the callers until the library changes. Only the users owning albums
+     * are visited to build it.
      *
      * @return the albums
      */
     public static List<Album> getAlbums() {
-        List<Album> albums = new ArrayList<>();
-        for (User user : users) {
-            albums.addAll(user.getAlbums());
-        }
-        return albums;
+        refreshViews();
+        return getContext().getAlbumsView();
     }
 
 
     /**
-     * Gets podcasts.
+     * Gets podcasts. The list is a read-only view, without a copy; use addPodcast and
+     * removePodcast to change it.
      *
      * @return the podcasts
      */
     public static List<Podcast> getPodcasts() {
-        return new ArrayList<>(podcasts);
+        return Collections.unmodifiableList(getContext().getPodcasts());
     }
 
     /**
-     * Gets playlists.
+     * Gets playlists, those of every user in the order of the users. The list is read-only
+     * and shared by the callers until the library changes. Only the users owning playlists
+     * are visited to build it.
      *
      * @return the playlists
      */
     public static List<Playlist> getPlaylists() {
+        refreshViews();
+        return getContext().getPlaylistsView();
+    }
+
+    private static void refreshViews() {
+        PlatformContext context = getContext();
+        if (context.getViewsVersion() == context.getLibraryVersion()) {
+            return;
+        }
+
+        List<Album> albums = new ArrayList<>();
+        for (List<Album> ownerAlbums : context.getAlbumsByOwner().values()) {
+            albums.addAll(ownerAlbums);
+        }
         List<Playlist> playlists = new ArrayList<>();
-        for (User user : users) {
-            playlists.addAll(user.getPlaylists());
+        for (List<Playlist> ownerPlaylists : context.getPlaylistsByOwner().values()) {
+            playlists.addAll(ownerPlaylists);
         }
-        return playlists;
+        context.setAlbumsView(Collections.unmodifiableList(albums));
+        context.setPlaylistsView(Collections.unmodifiableList(playlists));
+        context.setViewsVersion(context.getLibraryVersion());
     }
 
     /**
@@ -172,12 +589,7 @@ public final class Admin {
      * @return the user
      */
     public static User getUser(final String username) {
-        for (User user : users) {
-            if (user.getUsername().equals(username)) {
-                return user;
-            }
-        }
-        return null;
+        return getContext().getUsersByName().get(username);
     }
 
     /**
@@ -187,12 +599,8 @@ public final class Admin {
      * @return The {@link Song} object with the specified name, or {@code null} if not found.
      */
     public static Song getSong(final String songName) {
-        for (Song song : songs) {
-            if (song.getName().equals(songName)) {
-                return song;
-            }
-        }
-        return null;
+        List<Song> songs = getContext().getSongsByName().get(songName);
+        return songs == null ? null : songs.get(0);
     }
 
     /**
@@ -202,12 +610,8 @@ public final class Admin {
      * @return The {@link Podcast} object with the specified name, or {@code null} if not found.
      */
     public static Podcast getPodcast(final String podcastName) {
-        for (Podcast podcast : podcasts) {
-            if (podcast.getName().equals(podcastName)) {
-                return podcast;
-            }
-        }
-        return null;
+        List<Podcast> podcasts = getContext().getPodcastsByName().get(podcastName);
+        return podcasts == null ? null : podcasts.get(0);
     }
 
     /**
@@ -217,12 +621,7 @@ public final class Admin {
      * @return the artist
      */
     public static Artist getArtist(final String username) {
-        for (Artist artist : artists) {
-            if (artist.getName().equals(username)) {
-                return artist;
-            }
-        }
-        return null;
+        return getContext().getArtistsByName().get(username);
     }
 
     /**
@@ -232,12 +631,179 @@ public final class Admin {
      * @return the host
      */
     public static Host getHost(final String username) {
-        for (Host host : hosts) {
-            if (host.getName().equals(username)) {
-                return host;
+        return getContext().getHostsByName().get(username);
+    }
+
+    /**
+     * Finds the entries of a type whose name starts with a prefix, ignoring case, in the
+     * order of the list of that type, the same entries filtering the list by name keeps.
+     *
+     * @param type   the type of the entries, as in a search
+     * @param prefix the prefix
+     * @return the entries found
+     */
+    public static Iterable<? extends LibraryEntry> searchByName(final String type,
+                                                                final String prefix) {
+        PlatformContext context = getContext();
+        switch (type) {
+            case "song":
+                return songIndex().searchByName(prefix);
+            case "podcast":
+                if (context.getPodcastNames() == null) {
+                    context.setPodcastNames(new NameIndex<>(context.getPodcasts()));
+                }
+                return context.getPodcastNames().find(prefix);
+            case "album":
+                return context.getAlbumNames().find(prefix);
+            case "playlist":
+                return context.getPlaylistNames().find(prefix);
+            case "artist":
+                return context.getArtistNames().find(prefix);
+            case "host":
+                return context.getHostNames().find(prefix);
+            default:
+                return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Finds the first songs of the library matching every song filter set, in the order of
+     * the song list, the same songs filtering the list by each of them keeps. The filters
+     * are looked up in the song indexes instead, the most selective first.
+     *
+     * @param filters the filters
+     * @param limit   the most songs to find
+     * @return the songs found
+     */
+    public static List<LibraryEntry> searchSongs(final Filters filters, final int limit) {
+        return songIndex().search(filters, limit);
+    }
+
+    private static SongIndex songIndex() {
+        if (getContext().getSongIndex() == null) {
+            getContext().setSongIndex(new SongIndex(getContext().getSongs()));
+        }
+        return getContext().getSongIndex();
+    }
+
+    /**
+     * Gets the number of likes of a song in the current run.
+     *
+     * @param song the song
+     * @return the likes
+     */
+    public static int getSongLikes(final Song song) {
+        return getContext().getSongLikes().getOrDefault(song, 0);
+    }
+
+    /**
+     * Changes the number of likes of a song in the current run.
+     *
+     * @param song  the song
+     * @param delta the number of likes to add, negative to remove likes
+     */
+    public static void updateSongLikes(final Song song, final int delta) {
+        TreeSet<Song> leaderboard = getContext().getSongLeaderboard();
+        // the song is placed by its likes, so it leaves the leaderboard while they change
+        boolean ranked = leaderboard.remove(song);
+        int likes = getContext().getSongLikes().merge(song, delta, Integer::sum);
+        if (likes != 0 && (ranked || isInLibrary(song))) {
+            leaderboard.add(song);
+        }
+
+        Album album = getContext().getSongAlbums().get(song);
+        if (album != null) {
+            updateAlbumLikes(album, delta);
+            updateArtistLikes(getArtist(album.getOwner()), delta);
+        }
+    }
+
+    /**
+     * Gets the number of likes of the songs of an album in the current run.
+     *
+     * @param album the album
+     * @return the likes
+     */
+    public static int getAlbumLikes(final Album album) {
+        return getContext().getAlbumLikes().getOrDefault(album, 0);
+    }
+
+    /**
+     * Gets the number of likes of the songs in the albums of an artist in the current run.
+     *
+     * @param artist the artist
+     * @return the likes
+     */
+    public static int getArtistLikes(final Artist artist) {
+        return getContext().getArtistLikes().getOrDefault(artist, 0);
+    }
+
+    private static void updateAlbumLikes(final Album album, final int delta) {
+        TreeSet<Album> leaderboard = getContext().getAlbumLeaderboard();
+        boolean ranked = leaderboard.remove(album);
+        getContext().getAlbumLikes().merge(album, delta, Integer::sum);
+        if (ranked) {
+            leaderboard.add(album);
+        }
+    }
+
+    private static void updateArtistLikes(final Artist artist, final int delta) {
+        if (artist == null) {
+            return;
+        }
+        TreeSet<Artist> leaderboard = getContext().getArtistLeaderboard();
+        boolean ranked = leaderboard.remove(artist);
+        getContext().getArtistLikes().merge(artist, delta, Integer::sum);
+        if (ranked) {
+            leaderboard.add(artist);
+        }
+    }
+
+    /**
+     * Creates an empty album leaderboard: albums by likes, the most liked first, then in the
+     * order of getAlbums, which is the rank of their owner and then the order they were
+     * published in.
+     *
+     * @return the leaderboard
+     */
+    public static TreeSet<Album> newAlbumLeaderboard() {
+        return new TreeSet<>(Comparator.comparingInt(Admin::getAlbumLikes).reversed()
+                .thenComparingLong(Admin::getOwnerRank)
+                .thenComparingLong(Album::getSequence));
+    }
+
+    /**
+     * Creates an empty artist leaderboard: artists by likes, the most liked first, then in
+     * the order they were created, which is the order of the artist list.
+     *
+     * @return the leaderboard
+     */
+    public static TreeSet<Artist> newArtistLeaderboard() {
+        return new TreeSet<>(Comparator.comparingInt(Admin::getArtistLikes).reversed()
+                .thenComparingLong(Artist::getSequence));
+    }
+
+    /**
+     * Creates an empty song leaderboard: songs by likes, the most liked first, then in the
+     * order they were created, which is the order of the song list.
+     *
+     * @return the leaderboard
+     */
+    public static TreeSet<Song> newSongLeaderboard() {
+        return new TreeSet<>(Comparator.comparingInt(Admin::getSongLikes).reversed()
+                .thenComparingLong(Song::getSequence));
+    }
+
+    private static boolean isInLibrary(final Song song) {
+        List<Song> songs = getContext().getSongsByName().get(song.getName());
+        if (songs != null) {
+            for (Song entry : songs) {
+                if (entry == song) {
+                    return true;
+                }
             }
         }
-        return null;
+        return false;
     }
 
     /**
@@ -246,16 +812,19 @@ public final class Admin {
      * @param newTimestamp the new timestamp
      */
     public static void updateTimestamp(final int newTimestamp) {
-        int elapsed = newTimestamp - timestamp;
-        timestamp = newTimestamp;
-        if (elapsed == 0) {
-            return;
-        }
+        // players catch up with the clock themselves, the next time they are used
+        getContext().setTimestamp(newTimestamp);
+    }
 
-        for (User user : users) {
-            if (user.getConnectionStatus().equals(Enums.ConnectionStatus.ONLINE)) {
-                user.simulateTime(elapsed);
-            }
+    /**
+     * Catches up every player playing a collection. A player catching up plays the tracks
+     * of its collection as they are then, so it must do so before they change.
+     *
+     * @param collection the collection whose tracks are about to change
+     */
+    public static void catchUpListeners(final AudioCollection collection) {
+        for (Player player : collection.getListeners()) {
+            player.catchUp();
         }
     }
 
@@ -265,16 +834,33 @@ public final class Admin {
      * @return the top 5 songs
      */
     public static List<String> getTop5Songs() {
-        List<Song> sortedSongs = new ArrayList<>(songs);
-        sortedSongs.sort(Comparator.comparingInt(Song::getLikes).reversed());
+        TreeSet<Song> leaderboard = getContext().getSongLeaderboard();
         List<String> topSongs = new ArrayList<>();
-        int count = 0;
-        for (Song song : sortedSongs) {
-            if (count >= TOP_LIMIT) {
+        for (Song song : leaderboard) {
+            if (topSongs.size() >= TOP_LIMIT || song.getLikes() < 0) {
                 break;
             }
             topSongs.add(song.getName());
-            count++;
+        }
+
+        // Songs without likes come next, in library order, as a stable sort leaves them
+        for (Song song : getContext().getSongs()) {
+            if (topSongs.size() >= TOP_LIMIT) {
+                break;
+            }
+            if (song.getLikes() == 0) {
+                topSongs.add(song.getName());
+            }
+        }
+
+        // then the songs with fewer than no likes, at the end of the leaderboard
+        for (Song song : leaderboard) {
+            if (topSongs.size() >= TOP_LIMIT) {
+                break;
+            }
+            if (song.getLikes() < 0) {
+                topSongs.add(song.getName());
+            }
         }
         return topSongs;
     }
@@ -285,18 +871,12 @@ public final class Admin {
      * @return the top 5 playlists
      */
     public static List<String> getTop5Playlists() {
-        List<Playlist> sortedPlaylists = new ArrayList<>(getPlaylists());
-        sortedPlaylists.sort(Comparator.comparingInt(Playlist::getFollowers)
-                .reversed()
-                .thenComparing(Playlist::getTimestamp, Comparator.naturalOrder()));
         List<String> topPlaylists = new ArrayList<>();
-        int count = 0;
-        for (Playlist playlist : sortedPlaylists) {
-            if (count >= TOP_LIMIT) {
+        for (Playlist playlist : getContext().getPlaylistLeaderboard()) {
+            if (topPlaylists.size() >= TOP_LIMIT) {
                 break;
             }
             topPlaylists.add(playlist.getName());
-            count++;
         }
         return topPlaylists;
     }
@@ -307,16 +887,12 @@ public final class Admin {
      * @return the top 5 albums
      */
     public static List<String> getTop5Albums() {
-        List<Album> sortedAlbums = new ArrayList<>(getAlbums());
-        sortedAlbums.sort(Comparator.comparingInt(Album::getNumberLikes).reversed());
         List<String> topAlbums = new ArrayList<>();
-        int count = 0;
-        for (Album album : sortedAlbums) {
-            if (count >= TOP_LIMIT) {
+        for (Album album : getContext().getAlbumLeaderboard()) {
+            if (topAlbums.size() >= TOP_LIMIT) {
                 break;
             }
             topAlbums.add(album.getName());
-            count++;
         }
         return topAlbums;
     }
@@ -327,16 +903,12 @@ public final class Admin {
      * @return the top 5 artists
      */
     public static List<String> getTop5Artists() {
-        List<Artist> sortedArtists = new ArrayList<>(getArtists());
-        sortedArtists.sort(Comparator.comparingInt(Artist::getNumberLikes).reversed());
         List<String> topArtists = new ArrayList<>();
-        int count = 0;
-        for (Artist artist : sortedArtists) {
-            if (count >= TOP_LIMIT) {
+        for (Artist artist : getContext().getArtistLeaderboard()) {
+            if (topArtists.size() >= TOP_LIMIT) {
                 break;
             }
             topArtists.add(artist.getName());
-            count++;
         }
         return topArtists;
     }
@@ -348,17 +920,15 @@ public final class Admin {
      * @return A message indicating the success or failure of the operation.
      */
     public static String addUser(final CommandInput commandInput) {
-        for (User user : users) {
-            if (user.getUsername().equals(commandInput.getUsername())) {
-                return "The username " + user.getUsername() + " is already taken.";
-            }
+        if (getUser(commandInput.getUsername()) != null) {
+            return "The username " + commandInput.getUsername() + " is already taken.";
         }
         User newUser;
         if (commandInput.getType().equals("user")) {
             newUser = new User(commandInput.getUsername(),
                     commandInput.getAge(), commandInput.getCity(),
                     "user");
-            users.add(newUser);
+            addToUsers(newUser);
         }
         if (commandInput.getType().equals("artist")) {
             newUser = new User(commandInput.getUsername(),
@@ -384,19 +954,17 @@ public final class Admin {
      */
     public static void addArtist(final CommandInput commandInput, final User newUser) {
         newUser.setConnectionStatus(Enums.ConnectionStatus.OFFLINE);
-        users.add(newUser);
-        int ok = 1;
+        addToUsers(newUser);
 
         // Check if the artist already exists in the list
-        for (Artist artist : artists) {
-            if (artist.getName().equals(commandInput.getUsername())) {
-                ok = 0;
-            }
-        }
-        if (ok == 1) {
-            artists.add(new Artist(commandInput.getUsername(),
+        if (getArtist(commandInput.getUsername()) == null) {
+            Artist artist = new Artist(commandInput.getUsername(),
                     commandInput.getAge(), commandInput.getCity(),
-                    commandInput.getType()));
+                    commandInput.getType());
+            getArtists().add(artist);
+            getContext().getArtistsByName().put(artist.getName(), artist);
+            getContext().getArtistNames().add(artist);
+            getContext().getArtistLeaderboard().add(artist);
         }
     }
 
@@ -409,19 +977,16 @@ public final class Admin {
      */
     public static void addHost(final CommandInput commandInput, final User newUser) {
         newUser.setConnectionStatus(Enums.ConnectionStatus.OFFLINE);
-        users.add(newUser);
+        addToUsers(newUser);
 
         //Check if the host already exists
-        int ok = 1;
-        for (Host host : hosts) {
-            if (host.getName().equals(commandInput.getUsername())) {
-                ok = 0;
-            }
-        }
-        if (ok == 1) {
-            hosts.add(new Host(commandInput.getUsername(),
+        if (getHost(commandInput.getUsername()) == null) {
+            Host host = new Host(commandInput.getUsername(),
                     commandInput.getAge(), commandInput.getCity(),
-                    commandInput.getType()));
+                    commandInput.getType());
+            getHosts().add(host);
+            getContext().getHostsByName().put(host.getName(), host);
+            getContext().getHostNames().add(host);
         }
     }
 
@@ -436,7 +1001,7 @@ public final class Admin {
             return "The username " + commandInput.getUsername() + " doesn't exist.";
         }
         String type = new String();
-        for (User user : users) {
+        for (User user : getUsers()) {
             if (commandInput.getUsername().equals(user.getUsername())) {
                 type = user.getUserType();
                 break;
@@ -508,20 +1073,15 @@ public final class Admin {
 
             // Remove artist's songs from the system
             for (Album album : artist.getAlbums()) {
-                List<Song> songsToRemove = Admin.getSongs();
-                songsToRemove.removeAll(album.getSongs());
-                Admin.updateSongList(songsToRemove);
+                Admin.removeSongs(album.getSongs());
             }
 
             // Update playlists of all users to remove artist's songs in the album
             for (User user : Admin.getUsers()) {
                 for (Playlist playlist : user.getPlaylists()) {
-                    List<Song> songsInPlaylist = playlist.getSongs();
-
                     // Remove artist's albums from playlists
                     for (Album album : artist.getAlbums()) {
-                        songsInPlaylist.removeAll(album.getSongs());
-                        playlist.getSongs().removeAll(album.getSongs());
+                        playlist.removeSongs(album.getSongs());
                     }
                 }
 
@@ -531,8 +1091,11 @@ public final class Admin {
             }
 
             // Remove artist from the system
-            users.remove(userToDelete);
-            artists.remove(artist);
+            removeFromUsers(userToDelete);
+            getArtists().remove(artist);
+            getContext().getArtistLeaderboard().remove(artist);
+            getContext().getArtistsByName().remove(artist.getName(), artist);
+            getContext().getArtistNames().remove(artist);
             return commandInput.getUsername() + " was successfully deleted.";
         }
 
@@ -568,8 +1131,10 @@ public final class Admin {
             }
 
             // Remove host from the system
-            users.remove(userToDelete);
-            hosts.remove(host);
+            removeFromUsers(userToDelete);
+            getHosts().remove(host);
+            getContext().getHostsByName().remove(host.getName(), host);
+            getContext().getHostNames().remove(host);
             return commandInput.getUsername() + " was successfully deleted.";
         }
 
@@ -582,7 +1147,7 @@ public final class Admin {
             //User userToDelete = getUser(commandInput.getUsername());
 
             // Check if user is referenced in any user's player or current page
-            for (User user : users) {
+            for (User user : getUsers()) {
                 Player player = User.getPlayerInstance(user);
                 PlayerSource source = Player.getPlayerSourceInstance(player);
 
@@ -599,7 +1164,7 @@ public final class Admin {
             }
 
             // Update playlists of all users to remove user's playlists
-            for (User user : users) {
+            for (User user : getUsers()) {
                 user.getFollowedPlaylists().removeIf(playlist ->
                         playlist.getOwner().equals(commandInput.getUsername()));
             }
@@ -610,7 +1175,7 @@ public final class Admin {
             }
 
             // Remove user from the system
-            users.remove(userToDelete);
+            removeFromUsers(userToDelete);
             return commandInput.getUsername() + " was successfully deleted.";
         }
     }
@@ -622,7 +1187,7 @@ public final class Admin {
      */
     public static List<String> getOnlineUsers() {
         List<String> onlineUsers = new ArrayList<>();
-        for (User user : users) {
+        for (User user : getUsers()) {
             if (user.getConnectionStatus().equals(Enums.ConnectionStatus.ONLINE)) {
                 onlineUsers.add(user.getUsername());
             }
@@ -659,10 +1224,11 @@ public final class Admin {
      * @return A sorted list of all usernames.
      */
     public static ArrayList<String> getAllUsers() {
-        users.sort(new UserComparatorByType());
+        getUsers().sort(new UserComparatorByType());
+        rankUsers();
 
         ArrayList<String> result = new ArrayList<>();
-        for (User user : users) {
+        for (User user : getUsers()) {
             result.add(user.getUsername());
         }
 
@@ -715,14 +1281,48 @@ public final class Admin {
 
 
     /**
-     * Reset.
+     * Writes the podcast bookmarks of every user to a file. The podcast a user is listening
+     * to is bookmarked first, so the run should be over.
+     *
+     * @param file the bookmarks file
+     * @throws IOException in case of exceptions to writing
+     */
+    public static void saveBookmarks(final File file) throws IOException {
+        Map<String, BookmarkStore> stores = new LinkedHashMap<>();
+        for (User user : getUsers()) {
+            Player player = User.getPlayerInstance(user);
+            player.saveBookmark();
+            if (!player.getBookmarks().isEmpty()) {
+                stores.putIfAbsent(user.getUsername(), player.getBookmarks());
+            }
+        }
+        BookmarkStore.write(stores, file);
+    }
+
+    /**
+     * Gives back to the users of the run the podcast bookmarks saved in a file. Bookmarks of
+     * users the run doesn't have are skipped.
+     *
+     * @param file the bookmarks file
+     * @throws IOException if the file can't be read or is not a bookmarks file
+     */
+    public static void restoreBookmarks(final File file) throws IOException {
+        for (Map.Entry<String, BookmarkStore> entry : BookmarkStore.read(file).entrySet()) {
+            User user = getUser(entry.getKey());
+            if (user != null) {
+                BookmarkStore bookmarks = User.getPlayerInstance(user).getBookmarks();
+                for (PodcastBookmark bookmark : entry.getValue().getAll()) {
+                    bookmarks.save(bookmark);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reset. Drops the context of the current thread, so the next run on it
+     * starts from an empty platform.
      */
     public static void reset() {
-        users = new ArrayList<>();
-        songs = new ArrayList<>();
-        podcasts = new ArrayList<>();
-        artists = new ArrayList<>();
-        hosts = new ArrayList<>();
-        timestamp = 0;
+        CONTEXT.remove();
     }
 }
@@ -0,0 +1,20 @@
+package app;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fileio.input.CommandInput;
+
+/**
+ * Gets called by a {@link CommandRegistry} after every command it dispatches, to observe
+ * the commands of a run (metrics, tracing) without touching their handlers.
+ */
+@FunctionalInterface
+public interface CommandHook {
+    /**
+     * Called after a command was executed.
+     *
+     * @param command      the command
+     * @param result       the result of the command
+     * @param elapsedNanos the time the handler of the command took, in nanoseconds
+     */
+    void afterCommand(CommandInput command, ObjectNode result, long elapsedNanos);
+}
@@ -0,0 +1,138 @@
+package app;
+
+import app.utils.Enums;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fileio.input.CommandInput;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Maps every command type to the handler that executes it. This is the one place where
+ * commands are attached to the platform, and where hooks observing every command of a run
+ * are added. Each run has its own registry.
+ */
+public final class CommandRegistry {
+    private final Map<Enums.CommandType, Function<CommandInput, ObjectNode>> handlers =
+            new EnumMap<>(Enums.CommandType.class);
+    private final List<CommandHook> hooks = new ArrayList<>();
+
+    /**
+     * Creates a registry with the handlers of all the commands of {@link CommandRunner}.
+     *
+     * @return the registry
+     */
+    public static CommandRegistry defaults() {
+        CommandRegistry registry = new CommandRegistry();
+        registry.register(Enums.CommandType.SEARCH, CommandRunner::search);
+        registry.register(Enums.CommandType.SELECT, CommandRunner::select);
+        registry.register(Enums.CommandType.LOAD, CommandRunner::load);
+        registry.register(Enums.CommandType.PLAY_PAUSE, CommandRunner::playPause);
+        registry.register(Enums.CommandType.REPEAT, CommandRunner::repeat);
+        registry.register(Enums.CommandType.SHUFFLE, CommandRunner::shuffle);
+        registry.register(Enums.CommandType.FORWARD, CommandRunner::forward);
+        registry.register(Enums.CommandType.BACKWARD, CommandRunner::backward);
+        registry.register(Enums.CommandType.LIKE, CommandRunner::like);
+        registry.register(Enums.CommandType.NEXT, CommandRunner::next);
+        registry.register(Enums.CommandType.PREV, CommandRunner::prev);
+        registry.register(Enums.CommandType.CREATE_PLAYLIST, CommandRunner::createPlaylist);
+        registry.register(Enums.CommandType.ADD_REMOVE_IN_PLAYLIST,
+                CommandRunner::addRemoveInPlaylist);
+        registry.register(Enums.CommandType.SWITCH_VISIBILITY, CommandRunner::switchVisibility);
+        registry.register(Enums.CommandType.SHOW_PLAYLISTS, CommandRunner::showPlaylists);
+        registry.register(Enums.CommandType.FOLLOW, CommandRunner::follow);
+        registry.register(Enums.CommandType.STATUS, CommandRunner::status);
+        registry.register(Enums.CommandType.SHOW_PREFERRED_SONGS, CommandRunner::showLikedSongs);
+        registry.register(Enums.CommandType.GET_PREFERRED_GENRE, CommandRunner::getPreferredGenre);
+        registry.register(Enums.CommandType.GET_TOP5_SONGS, CommandRunner::getTop5Songs);
+        registry.register(Enums.CommandType.GET_TOP5_PLAYLISTS, CommandRunner::getTop5Playlists);
+        registry.register(Enums.CommandType.SWITCH_CONNECTION_STATUS,
+                CommandRunner::switchConnectionStatus);
+        registry.register(Enums.CommandType.GET_ONLINE_USERS, CommandRunner::getOnlineUsers);
+        registry.register(Enums.CommandType.ADD_USER, CommandRunner::addUser);
+        registry.register(Enums.CommandType.DELETE_USER, CommandRunner::deleteUser);
+        registry.register(Enums.CommandType.ADD_ALBUM, CommandRunner::addAlbum);
+        registry.register(Enums.CommandType.REMOVE_ALBUM, CommandRunner::removeAlbum);
+        registry.register(Enums.CommandType.SHOW_ALBUMS, CommandRunner::showAlbums);
+        registry.register(Enums.CommandType.GET_TOP5_ALBUMS, CommandRunner::getTop5Albums);
+        registry.register(Enums.CommandType.PRINT_CURRENT_PAGE, CommandRunner::printCurrentPage);
+        registry.register(Enums.CommandType.CHANGE_PAGE, CommandRunner::changetPage);
+        registry.register(Enums.CommandType.ADD_EVENT, CommandRunner::addEvent);
+        registry.register(Enums.CommandType.REMOVE_EVENT, CommandRunner::removeEvent);
+        registry.register(Enums.CommandType.ADD_MERCH, CommandRunner::addMerch);
+        registry.register(Enums.CommandType.ADD_PODCAST, CommandRunner::addPodcast);
+        registry.register(Enums.CommandType.REMOVE_PODCAST, CommandRunner::removePodcast);
+        registry.register(Enums.CommandType.SHOW_PODCASTS, CommandRunner::showPodcasts);
+        registry.register(Enums.CommandType.ADD_ANNOUNCEMENT, CommandRunner::addAnnouncement);
+        registry.register(Enums.CommandType.REMOVE_ANNOUNCEMENT, CommandRunner::removeAnnouncement);
+        registry.register(Enums.CommandType.GET_ALL_USERS, CommandRunner::getAllUsers);
+        registry.register(Enums.CommandType.GET_TOP5_ARTISTS, CommandRunner::getTop5Artists);
+        registry.register(Enums.CommandType.BUY_MERCH, CommandRunner::buyMerch);
+        registry.register(Enums.CommandType.SEE_MERCH, CommandRunner::seeMerch);
+        registry.register(Enums.CommandType.SUBSCRIBE, CommandRunner::subscribe);
+        registry.register(Enums.CommandType.GET_NOTIFICATIONS, CommandRunner::getNotifications);
+        registry.register(Enums.CommandType.UPDATE_RECOMMENDATIONS,
+                CommandRunner::updateRecommendations);
+        registry.register(Enums.CommandType.PREVIOUS_PAGE, CommandRunner::previousPage);
+        registry.register(Enums.CommandType.NEXT_PAGE, CommandRunner::nextPage);
+        registry.register(Enums.CommandType.LOAD_RECOMMENDATIONS,
+                CommandRunner::loadRecommendations);
+        registry.register(Enums.CommandType.WRAPPED, CommandRunner::wrapped);
+        return registry;
+    }
+
+    /**
+     * Sets the handler of a command type, replacing the previous one.
+     *
+     * @param type    the command type
+     * @param handler the handler
+     */
+    public void register(final Enums.CommandType type,
+                         final Function<CommandInput, ObjectNode> handler) {
+        handlers.put(type, handler);
+    }
+
+    /**
+     * Adds a hook called after every command dispatched by this registry.
+     *
+     * @param hook the hook
+     */
+    public void addHook(final CommandHook hook) {
+        hooks.add(hook);
+    }
+
+    /**
+     * Checks if a command can be dispatched.
+     *
+     * @param command the command
+     * @return true if the command has a handler
+     */
+    public boolean canDispatch(final CommandInput command) {
+        return command.getCommandType() != null
+                && handlers.containsKey(command.getCommandType());
+    }
+
+    /**
+     * Executes a command through its handler.
+     *
+     * @param command the command, which must have a handler
+     * @return the result of the command
+     */
+    public ObjectNode dispatch(final CommandInput command) {
+        Function<CommandInput, ObjectNode> handler = handlers.get(command.getCommandType());
+        if (hooks.isEmpty()) {
+            return handler.apply(command);
+        }
+
+        long start = System.nanoTime();
+        ObjectNode result = handler.apply(command);
+        long elapsed = System.nanoTime() - start;
+        for (CommandHook hook : hooks) {
+            hook.afterCommand(command, result, elapsed);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,89 @@
+package app;
+
+import app.audio.Collections.Album;
+import app.audio.Collections.Playlist;
+import app.audio.Collections.Podcast;
+import app.audio.Files.Song;
+import app.searchBar.NameIndex;
+import app.searchBar.SongIndex;
+import app.user.Artist;
+import app.user.Host;
+import app.user.User;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The state of one run of the platform: its users, library, clock and page selections.
+ * Every run gets its own context, so several command files can be replayed at the same
+ * time, each one on its own thread. The song and podcast lists may start out as the
+ * shared lists of a {@link app.catalog.Catalog}, marked by songsShared and podcastsShared.
+ * The first change to a shared list copies it and clears the mark; from then on the copy,
+ * which belongs to the run, is changed in place.
+ */
+@Getter
+@Setter
+public final class PlatformContext {
+    private List<User> users = new ArrayList<>();
+    private List<Artist> artists = new ArrayList<>();
+    private List<Host> hosts = new ArrayList<>();
+    private List<Song> songs = new ArrayList<>();
+    private List<Podcast> podcasts = new ArrayList<>();
+    private int timestamp = 0;
+    private String selectedArtist;
+    private String selectedHost;
+    private ArrayList<Artist.Event> events = new ArrayList<>();
+    // likes given in this run; songs missing from the map have no likes
+    private Map<Song, Integer> songLikes = new HashMap<>();
+    // the songs of the library having likes, the most liked first, then in library order
+    private TreeSet<Song> songLeaderboard = Admin.newSongLeaderboard();
+
+    // name indexes over the lists above, kept in sync by Admin
+    private Map<String, User> usersByName = new HashMap<>();
+    private Map<String, Artist> artistsByName = new HashMap<>();
+    private Map<String, Host> hostsByName = new HashMap<>();
+    // several songs or podcasts can share a name; a bucket keeps them in list order
+    private Map<String, List<Song>> songsByName = new HashMap<>();
+    private Map<String, List<Podcast>> podcastsByName = new HashMap<>();
+    // indexes for the searches; the song and podcast ones are built on the first search,
+    // since the lists can be as large as the catalog
+    private SongIndex songIndex;
+    private NameIndex<Podcast> podcastNames;
+    private NameIndex<Album> albumNames = Admin.newOwnedNameIndex();
+    private NameIndex<Playlist> playlistNames = Admin.newOwnedNameIndex();
+    private NameIndex<Artist> artistNames = new NameIndex<>(List.of());
+    private NameIndex<Host> hostNames = new NameIndex<>(List.of());
+    // true while the list is the one of the catalog, which must be copied before a change
+    private boolean songsShared;
+    private boolean podcastsShared;
+
+    // the rank of every user, increasing along the users list
+    private Map<User, Long> userRanks = new HashMap<>();
+    private long nextUserRank;
+    // the album and playlist lists of the users having any, by the rank of their owner
+    private TreeMap<Long, List<Album>> albumsByOwner = new TreeMap<>();
+    private TreeMap<Long, List<Playlist>> playlistsByOwner = new TreeMap<>();
+    // every playlist, the most followed first, then the oldest, then in library order
+    private TreeSet<Playlist> playlistLeaderboard = Admin.newPlaylistLeaderboard();
+    // the album of every song of the library published in one, and the likes of the songs
+    // of every album and every artist; albums and artists missing from a map have no likes
+    private Map<Song, Album> songAlbums = new HashMap<>();
+    private Map<Album, Integer> albumLikes = new HashMap<>();
+    private Map<Artist, Integer> artistLikes = new HashMap<>();
+    // every album and every artist, the most liked first, then in the order of their lists
+    private TreeSet<Album> albumLeaderboard = Admin.newAlbumLeaderboard();
+    private TreeSet<Artist> artistLeaderboard = Admin.newArtistLeaderboard();
+
+    // changes whenever the songs, podcasts, albums or playlists of the run change
+    private long libraryVersion;
+    // the albums and playlists of all the users, rebuilt once the library version moves on
+    private List<Album> albumsView = List.of();
+    private List<Playlist> playlistsView = List.of();
+    private long viewsVersion = -1;
+}
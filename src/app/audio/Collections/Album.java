@@ -1,5 +1,6 @@
 package app.audio.Collections;
 
+import app.Admin;
 import app.audio.Files.AudioFile;
 import app.audio.Files.Song;
 import lombok.Getter;
@@ -35,16 +36,12 @@ public final class Album extends AudioCollection {
     }
 
     /**
-     * Calculates and returns the total number of likes across all songs in the collection.
+     * Returns the total number of likes across all songs in the collection.
      *
      * @return The total number of likes for all songs in the collection.
      */
     public int getNumberLikes() {
-        int likes = 0;
-        for (Song song : this.songs) {
-            likes += song.getLikes();
-        }
-        return likes;
+        return Admin.getAlbumLikes(this);
     }
 
 }
@@ -2,14 +2,22 @@ package app.audio.Collections;
 
 import app.audio.Files.AudioFile;
 import app.audio.LibraryEntry;
+import app.player.Player;
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * The type Audio collection.
  */
 @Getter
 public abstract class AudioCollection extends LibraryEntry {
     private final String owner;
+    // the players whose source is this collection
+    private final Set<Player> listeners = new LinkedHashSet<>();
 
     /**
      * Instantiates a new Audio collection.
@@ -37,6 +45,44 @@ public abstract class AudioCollection extends LibraryEntry {
      */
     public abstract AudioFile getTrackByIndex(int index);
 
+    /**
+     * Gets the number of times the tracks of the collection changed. Players keep the sums
+     * of the track durations and sum them again once this moves on.
+     *
+     * @return the tracks version
+     */
+    public int getTracksVersion() {
+        return 0;
+    }
+
+    /**
+     * Adds a player that started playing the collection.
+     *
+     * @param player the player
+     */
+    public void addListener(final Player player) {
+        listeners.add(player);
+    }
+
+    /**
+     * Removes a player that no longer plays the collection.
+     *
+     * @param player the player
+     */
+    public void removeListener(final Player player) {
+        listeners.remove(player);
+    }
+
+    /**
+     * Gets the players playing the collection. The list is a copy, so the players may stop
+     * or change their source while it is walked.
+     *
+     * @return the players
+     */
+    public List<Player> getListeners() {
+        return new ArrayList<>(listeners);
+    }
+
     /**
      *
      * @param user the user
@@ -1,12 +1,13 @@
 package app.audio.Collections;
 
+import app.Admin;
 import app.audio.Files.AudioFile;
 import app.audio.Files.Song;
 import app.utils.Enums;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.Collection;
 
 /**
  * The type Playlist.
@@ -15,9 +16,9 @@ import java.util.ArrayList;
 public final class Playlist extends AudioCollection {
     private final ArrayList<Song> songs;
     private Enums.Visibility visibility;
-    @Setter
     private Integer followers;
     private int timestamp;
+    private int tracksVersion;
 
     /**
      * Instantiates a new Playlist.
@@ -55,12 +56,15 @@ public final class Playlist extends AudioCollection {
     }
 
     /**
-     * Add song.
+     * Add song. The players playing the playlist catch up first, with its tracks as they
+     * were until now; the same goes for removing songs.
      *
      * @param song the song
      */
     public void addSong(final Song song) {
+        Admin.catchUpListeners(this);
         songs.add(song);
+        tracksVersion++;
     }
 
     /**
@@ -69,7 +73,9 @@ public final class Playlist extends AudioCollection {
      * @param song the song
      */
     public void removeSong(final Song song) {
+        Admin.catchUpListeners(this);
         songs.remove(song);
+        tracksVersion++;
     }
 
     /**
@@ -78,7 +84,21 @@ public final class Playlist extends AudioCollection {
      * @param index the index
      */
     public void removeSong(final int index) {
+        Admin.catchUpListeners(this);
         songs.remove(index);
+        tracksVersion++;
+    }
+
+    /**
+     * Removes every occurrence of the given songs.
+     *
+     * @param removed the songs to remove
+     */
+    public void removeSongs(final Collection<Song> removed) {
+        Admin.catchUpListeners(this);
+        if (songs.removeAll(removed)) {
+            tracksVersion++;
+        }
     }
 
     /**
@@ -92,18 +112,32 @@ public final class Playlist extends AudioCollection {
         }
     }
 
+    /**
+     * Sets followers. The playlist leaderboard orders playlists by their followers, so the
+     * playlist leaves it while the count changes.
+     *
+     * @param followers the followers
+     */
+    public void setFollowers(final Integer followers) {
+        boolean ranked = Admin.unrankPlaylist(this);
+        this.followers = followers;
+        if (ranked) {
+            Admin.rankPlaylist(this);
+        }
+    }
+
     /**
      * Increase followers.
      */
     public void increaseFollowers() {
-        followers++;
+        setFollowers(followers + 1);
     }
 
     /**
      * Decrease followers.
      */
     public void decreaseFollowers() {
-        followers--;
+        setFollowers(followers - 1);
     }
 
     @Override
@@ -116,6 +150,11 @@ public final class Playlist extends AudioCollection {
         return songs.get(index);
     }
 
+    @Override
+    public int getTracksVersion() {
+        return tracksVersion;
+    }
+
     @Override
     public boolean isVisibleToUser(final String user) {
         return this.getVisibility() == Enums.Visibility.PUBLIC
@@ -1,12 +1,15 @@
 package app.audio.Files;
 
+import app.Admin;
+import app.searchBar.YearQuery;
 import lombok.Getter;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * The type Song.
+ * The type Song. Songs are immutable, so the songs of the library can be shared by
+ * every run; the likes of a song are counted by the run in its own context.
  */
 @Getter
 public final class Song extends AudioFile {
@@ -16,7 +19,6 @@ public final class Song extends AudioFile {
     private final String genre;
     private final Integer releaseYear;
     private final String artist;
-    private Integer likes;
 
     /**
      * Instantiates a new Song.
@@ -40,7 +42,6 @@ public final class Song extends AudioFile {
         this.genre = genre;
         this.releaseYear = releaseYear;
         this.artist = artist;
-        this.likes = 0;
     }
 
     @Override
@@ -79,30 +80,29 @@ public final class Song extends AudioFile {
 
     @Override
     public boolean matchesReleaseYear(final String releaseYearFilter) {
-        return filterByYear(this.getReleaseYear(), releaseYearFilter);
+        return YearQuery.parse(releaseYearFilter).matches(this.getReleaseYear());
     }
 
-    private static boolean filterByYear(final int year, final String query) {
-        if (query.startsWith("<")) {
-            return year < Integer.parseInt(query.substring(1));
-        } else if (query.startsWith(">")) {
-            return year > Integer.parseInt(query.substring(1));
-        } else {
-            return year == Integer.parseInt(query);
-        }
+    /**
+     * Gets the number of likes of the song in the current run.
+     *
+     * @return the likes
+     */
+    public int getLikes() {
+        return Admin.getSongLikes(this);
     }
 
     /**
      * Like.
      */
     public void like() {
-        likes++;
+        Admin.updateSongLikes(this, 1);
     }
 
     /**
      * Dislike.
      */
     public void dislike() {
-        likes--;
+        Admin.updateSongLikes(this, -1);
     }
 }
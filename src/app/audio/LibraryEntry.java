@@ -3,13 +3,18 @@ package app.audio;
 import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The type Library entry.
  */
 @Getter
 public abstract class LibraryEntry {
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
     private final String name;
+    // increases with every entry created, so it orders entries by creation
+    private final long sequence = SEQUENCE.getAndIncrement();
 
     /**
      * Instantiates a new Library entry.
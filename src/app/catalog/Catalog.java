@@ -0,0 +1,90 @@
+package app.catalog;
+
+import app.audio.Collections.Podcast;
+import app.audio.Files.Episode;
+import app.audio.Files.Song;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fileio.input.EpisodeInput;
+import fileio.input.LibraryInput;
+import fileio.input.PodcastInput;
+import fileio.input.SongInput;
+import fileio.input.UserInput;
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable snapshot of the library: its songs, podcasts and initial users.
+ * The library file is parsed once and the snapshot is shared by every run. Runs never
+ * change the snapshot itself; whatever a run changes (likes, albums, deletions) is kept
+ * in its own {@link app.PlatformContext}.
+ */
+@Getter
+public final class Catalog {
+    private final List<Song> songs;
+    private final List<Podcast> podcasts;
+    private final List<UserInput> users;
+
+    /**
+     * Instantiates a new Catalog.
+     *
+     * @param songs    the songs of the library
+     * @param podcasts the podcasts of the library
+     * @param users    the users of the library
+     */
+    public Catalog(final List<Song> songs, final List<Podcast> podcasts,
+                   final List<UserInput> users) {
+        this.songs = Collections.unmodifiableList(new ArrayList<>(songs));
+        this.podcasts = Collections.unmodifiableList(new ArrayList<>(podcasts));
+        this.users = Collections.unmodifiableList(new ArrayList<>(users));
+    }
+
+    /**
+     * Builds the catalog of a parsed library.
+     *
+     * @param library the library input
+     * @return the catalog
+     */
+    public static Catalog fromLibrary(final LibraryInput library) {
+        List<Song> songs = new ArrayList<>();
+        for (SongInput songInput : library.getSongs()) {
+            songs.add(new Song(songInput.getName(), songInput.getDuration(), songInput.getAlbum(),
+                    songInput.getTags(), songInput.getLyrics(), songInput.getGenre(),
+                    songInput.getReleaseYear(), songInput.getArtist()));
+        }
+
+        List<Podcast> podcasts = new ArrayList<>();
+        for (PodcastInput podcastInput : library.getPodcasts()) {
+            List<Episode> episodes = new ArrayList<>();
+            for (EpisodeInput episodeInput : podcastInput.getEpisodes()) {
+                episodes.add(new Episode(episodeInput.getName(),
+                        episodeInput.getDuration(),
+                        episodeInput.getDescription()));
+            }
+            podcasts.add(new Podcast(podcastInput.getName(), podcastInput.getOwner(),
+                    Collections.unmodifiableList(episodes)));
+        }
+
+        return new Catalog(songs, podcasts, library.getUsers());
+    }
+
+    /**
+     * Loads a library file: a binary catalog if its name ends in
+     * {@link CatalogFile#EXTENSION}, a JSON library otherwise.
+     *
+     * @param file the library file
+     * @return the catalog
+     * @throws IOException in case of exceptions to reading
+     */
+    public static Catalog load(final File file) throws IOException {
+        if (file.getName().endsWith(CatalogFile.EXTENSION)) {
+            return CatalogFile.read(file);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        return fromLibrary(objectMapper.readValue(file, LibraryInput.class));
+    }
+}
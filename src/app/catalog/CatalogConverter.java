@@ -0,0 +1,38 @@
+package app.catalog;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Converts a {@code library.json} file to the binary catalog format of {@link CatalogFile}.
+ * <p>
+ * Usage: {@code CatalogConverter <library.json> <catalog.bin>}
+ */
+public final class CatalogConverter {
+    /**
+     * for coding style
+     */
+    private CatalogConverter() {
+    }
+
+    /**
+     * Converts the library given as the first argument to the file given as the second one.
+     *
+     * @param args the library file and the catalog file
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CatalogConverter <library.json> <catalog"
+                    + CatalogFile.EXTENSION + ">");
+            System.exit(1);
+        }
+
+        Catalog catalog = Catalog.load(new File(args[0]));
+        File out = new File(args[1]);
+        CatalogFile.write(catalog, out);
+        System.out.println("Wrote " + catalog.getSongs().size() + " songs, "
+                + catalog.getPodcasts().size() + " podcasts and "
+                + catalog.getUsers().size() + " users to " + out.getPath());
+    }
+}
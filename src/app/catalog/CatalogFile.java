@@ -0,0 +1,290 @@
+package app.catalog;
+
+import app.audio.Collections.Podcast;
+import app.audio.Files.Episode;
+import app.audio.Files.Song;
+import fileio.input.UserInput;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The binary format of a catalog. Every string of the library is stored once, in a string
+ * table at the start of the file, and the songs, podcasts and users refer to it by index;
+ * durations, years and ages are fixed width ints and the tags of a song are a list of
+ * indexes. The file is read in one pass through memory mapped windows of at most a
+ * gigabyte each, so it may be larger than a single mapping. Reading decodes every string
+ * and builds every song, podcast and user up front, but each string is decoded once
+ * however many entries share it, and the rest are plain ints read from the mapped bytes,
+ * with no text to scan as in the JSON library.
+ * <p>
+ * Layout, all ints big endian:
+ * <pre>
+ * magic, version
+ * strings:  count, (byte length, UTF-8 bytes)*
+ * songs:    count, (name, duration, album, tag count, tag*, lyrics, genre, year, artist)*
+ * podcasts: count, (name, owner, episode count, (name, duration, description)*)*
+ * users:    count, (username, age, city)*
+ * </pre>
+ * Strings are written as their index in the table, {@code -1} standing for null. A null
+ * duration or year is written as {@link Integer#MIN_VALUE}.
+ */
+public final class CatalogFile {
+    public static final String EXTENSION = ".bin";
+    private static final int MAGIC = 0x47574354;
+    private static final int VERSION = 1;
+    private static final int NULL_STRING = -1;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int WINDOW = 1 << 30;
+
+    /**
+     * for coding style
+     */
+    private CatalogFile() {
+    }
+
+    /**
+     * Writes a catalog in the binary format.
+     *
+     * @param catalog the catalog
+     * @param file    the file to write
+     * @throws IOException in case of exceptions to writing
+     */
+    public static void write(final Catalog catalog, final File file) throws IOException {
+        StringTable strings = new StringTable();
+        for (Song song : catalog.getSongs()) {
+            strings.add(song.getName());
+            strings.add(song.getAlbum());
+            for (String tag : song.getTags()) {
+                strings.add(tag);
+            }
+            strings.add(song.getLyrics());
+            strings.add(song.getGenre());
+            strings.add(song.getArtist());
+        }
+        for (Podcast podcast : catalog.getPodcasts()) {
+            strings.add(podcast.getName());
+            strings.add(podcast.getOwner());
+            for (Episode episode : podcast.getEpisodes()) {
+                strings.add(episode.getName());
+                strings.add(episode.getDescription());
+            }
+        }
+        for (UserInput user : catalog.getUsers()) {
+            strings.add(user.getUsername());
+            strings.add(user.getCity());
+        }
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            out.writeInt(strings.values.size());
+            for (String value : strings.values) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(catalog.getSongs().size());
+            for (Song song : catalog.getSongs()) {
+                out.writeInt(strings.indexOf(song.getName()));
+                out.writeInt(orNull(song.getDuration()));
+                out.writeInt(strings.indexOf(song.getAlbum()));
+                out.writeInt(song.getTags().size());
+                for (String tag : song.getTags()) {
+                    out.writeInt(strings.indexOf(tag));
+                }
+                out.writeInt(strings.indexOf(song.getLyrics()));
+                out.writeInt(strings.indexOf(song.getGenre()));
+                out.writeInt(orNull(song.getReleaseYear()));
+                out.writeInt(strings.indexOf(song.getArtist()));
+            }
+
+            out.writeInt(catalog.getPodcasts().size());
+            for (Podcast podcast : catalog.getPodcasts()) {
+                out.writeInt(strings.indexOf(podcast.getName()));
+                out.writeInt(strings.indexOf(podcast.getOwner()));
+                out.writeInt(podcast.getEpisodes().size());
+                for (Episode episode : podcast.getEpisodes()) {
+                    out.writeInt(strings.indexOf(episode.getName()));
+                    out.writeInt(orNull(episode.getDuration()));
+                    out.writeInt(strings.indexOf(episode.getDescription()));
+                }
+            }
+
+            out.writeInt(catalog.getUsers().size());
+            for (UserInput user : catalog.getUsers()) {
+                out.writeInt(strings.indexOf(user.getUsername()));
+                out.writeInt(user.getAge());
+                out.writeInt(strings.indexOf(user.getCity()));
+            }
+        }
+    }
+
+    /**
+     * Reads a catalog written in the binary format.
+     *
+     * @param file the catalog file
+     * @return the catalog
+     * @throws IOException if the file can't be read or is not a catalog file
+     */
+    public static Catalog read(final File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return read(new MappedInput(channel, file), file);
+        }
+    }
+
+    private static Catalog read(final MappedInput input, final File file) throws IOException {
+        if (input.size < 2 * Integer.BYTES || input.getInt() != MAGIC) {
+            throw new IOException("Not a catalog file: " + file.getPath());
+        }
+        int version = input.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported catalog version " + version
+                    + " in " + file.getPath());
+        }
+
+        String[] strings = new String[input.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = input.getString(input.getInt());
+        }
+
+        int songCount = input.getInt();
+        List<Song> songs = new ArrayList<>(songCount);
+        for (int i = 0; i < songCount; i++) {
+            String name = string(strings, input.getInt());
+            Integer duration = integer(input.getInt());
+            String album = string(strings, input.getInt());
+            int tagCount = input.getInt();
+            ArrayList<String> tags = new ArrayList<>(tagCount);
+            for (int j = 0; j < tagCount; j++) {
+                tags.add(string(strings, input.getInt()));
+            }
+            String lyrics = string(strings, input.getInt());
+            String genre = string(strings, input.getInt());
+            Integer releaseYear = integer(input.getInt());
+            String artist = string(strings, input.getInt());
+            songs.add(new Song(name, duration, album, tags, lyrics, genre, releaseYear, artist));
+        }
+
+        int podcastCount = input.getInt();
+        List<Podcast> podcasts = new ArrayList<>(podcastCount);
+        for (int i = 0; i < podcastCount; i++) {
+            String name = string(strings, input.getInt());
+            String owner = string(strings, input.getInt());
+            int episodeCount = input.getInt();
+            List<Episode> episodes = new ArrayList<>(episodeCount);
+            for (int j = 0; j < episodeCount; j++) {
+                String episodeName = string(strings, input.getInt());
+                Integer duration = integer(input.getInt());
+                String description = string(strings, input.getInt());
+                episodes.add(new Episode(episodeName, duration, description));
+            }
+            podcasts.add(new Podcast(name, owner, Collections.unmodifiableList(episodes)));
+        }
+
+        int userCount = input.getInt();
+        List<UserInput> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            UserInput user = new UserInput();
+            user.setUsername(string(strings, input.getInt()));
+            user.setAge(input.getInt());
+            user.setCity(string(strings, input.getInt()));
+            users.add(user);
+        }
+
+        return new Catalog(songs, podcasts, users);
+    }
+
+    private static int orNull(final Integer value) {
+        return value == null ? NULL_INT : value;
+    }
+
+    private static Integer integer(final int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    private static String string(final String[] strings, final int index) {
+        return index == NULL_STRING ? null : strings[index];
+    }
+
+    /**
+     * A catalog file read in order through a window mapped over part of it. The window moves
+     * on when the next value doesn't fit in what is left of it.
+     */
+    private static final class MappedInput {
+        private final FileChannel channel;
+        private final File file;
+        private final long size;
+        private long windowStart;
+        private MappedByteBuffer window;
+
+        MappedInput(final FileChannel channel, final File file) throws IOException {
+            this.channel = channel;
+            this.file = file;
+            this.size = channel.size();
+            map(0, 0);
+        }
+
+        int getInt() throws IOException {
+            ensure(Integer.BYTES);
+            return window.getInt();
+        }
+
+        String getString(final int length) throws IOException {
+            ensure(length);
+            byte[] bytes = new byte[length];
+            window.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        // maps the next window if fewer than the needed bytes are left in this one
+        private void ensure(final int needed) throws IOException {
+            if (window.remaining() < needed) {
+                map(windowStart + window.position(), needed);
+            }
+        }
+
+        private void map(final long start, final int needed) throws IOException {
+            if (needed < 0 || size - start < needed) {
+                throw new IOException("Truncated catalog file: " + file.getPath());
+            }
+            long length = Math.min(Math.max(WINDOW, needed), size - start);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            windowStart = start;
+        }
+    }
+
+    /**
+     * The strings of a catalog, each one kept once, in the order they were first seen.
+     */
+    private static final class StringTable {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        void add(final String value) {
+            if (value != null && !indexes.containsKey(value)) {
+                indexes.put(value, values.size());
+                values.add(value);
+            }
+        }
+
+        int indexOf(final String value) {
+            return value == null ? NULL_STRING : indexes.get(value);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package app.metrics;
+
+import app.CommandHook;
+import app.utils.Enums;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fileio.input.CommandInput;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Records how many times each command type ran during a run and how long its handler
+ * took, in one {@link LatencyHistogram} per command type. The histogram of a type is
+ * created the first time the type runs; after that, recording a command allocates nothing.
+ */
+public final class CommandMetrics implements CommandHook {
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double MEDIAN = 50.0;
+    private static final double P99 = 99.0;
+
+    private final LatencyHistogram[] histograms =
+            new LatencyHistogram[Enums.CommandType.values().length];
+    private final long startNanos = System.nanoTime();
+
+    @Override
+    public void afterCommand(final CommandInput command, final ObjectNode result,
+                             final long elapsedNanos) {
+        int type = command.getCommandType().ordinal();
+        if (histograms[type] == null) {
+            histograms[type] = new LatencyHistogram();
+        }
+        histograms[type].record(elapsedNanos);
+    }
+
+    /**
+     * Gets the histogram of a command type.
+     *
+     * @param type the command type
+     * @return the histogram, or null if no command of that type ran
+     */
+    public LatencyHistogram getHistogram(final Enums.CommandType type) {
+        return histograms[type.ordinal()];
+    }
+
+    /**
+     * Builds the report of the run so far: the number of commands, the wall time and the
+     * throughput of the run, then the count and latencies of every command type that ran,
+     * the types taking the most time in total first.
+     *
+     * @param objectMapper the mapper used to create the nodes
+     * @return the report
+     */
+    public ObjectNode toJson(final ObjectMapper objectMapper) {
+        long elapsed = System.nanoTime() - startNanos;
+        List<Enums.CommandType> types = new ArrayList<>();
+        long commands = 0;
+        for (Enums.CommandType type : Enums.CommandType.values()) {
+            if (histograms[type.ordinal()] != null) {
+                types.add(type);
+                commands += histograms[type.ordinal()].getCount();
+            }
+        }
+        types.sort(Comparator.comparingLong(
+                (Enums.CommandType type) -> histograms[type.ordinal()].getTotal()).reversed());
+
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("commands", commands);
+        report.put("elapsedMillis", elapsed / NANOS_PER_MILLI);
+        report.put("commandsPerSecond", elapsed == 0 ? 0 : commands * NANOS_PER_SECOND / elapsed);
+
+        ArrayNode byCommand = report.putArray("byCommand");
+        for (Enums.CommandType type : types) {
+            LatencyHistogram histogram = histograms[type.ordinal()];
+            ObjectNode node = byCommand.addObject();
+            node.put("command", type.getCommandName());
+            node.put("count", histogram.getCount());
+            node.put("totalMillis", histogram.getTotal() / NANOS_PER_MILLI);
+            node.put("p50Micros", histogram.getValueAtPercentile(MEDIAN) / NANOS_PER_MICRO);
+            node.put("p99Micros", histogram.getValueAtPercentile(P99) / NANOS_PER_MICRO);
+            node.put("maxMicros", histogram.getMax() / NANOS_PER_MICRO);
+        }
+        return report;
+    }
+}
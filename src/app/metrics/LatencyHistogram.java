@@ -0,0 +1,100 @@
+package app.metrics;
+
+/**
+ * A histogram of latencies with a fixed set of buckets, in the style of HDR histograms.
+ * Values below {@value #SUB_BUCKETS} get a bucket each; above that, every power of two is
+ * split into {@value #SUB_BUCKETS} equal buckets, so any recorded value is known to within
+ * about 3%. Recording a value is a few bit operations and one array increment, and never
+ * allocates.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final double PERCENT = 100.0;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Records one value.
+     *
+     * @param value the value, negative values being counted as 0
+     */
+    public void record(final long value) {
+        long clamped = Math.max(value, 0);
+        counts[bucketOf(clamped)]++;
+        count++;
+        total += clamped;
+        max = Math.max(max, clamped);
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the recorded values.
+     *
+     * @return the total
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return the max, 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the value below which the given percentage of the recorded values fall.
+     *
+     * @param percentile the percentage, between 0 and 100
+     * @return the highest value of the bucket holding the percentile, at most the max
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / PERCENT * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    private static int bucketOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueOf(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
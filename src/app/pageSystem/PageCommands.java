@@ -19,22 +19,50 @@ import java.util.stream.Collectors;
 
 import app.audio.Files.Song;
 import fileio.input.CommandInput;
-import lombok.Getter;
-import lombok.Setter;
 
 public final class PageCommands {
-    @Getter
-    @Setter
-    private static String selectedArtist;
-    @Getter
-    @Setter
-    private static String selectedHost;
     private static final int TOP_LIMIT = 5;
 
     private PageCommands() {
         // Private constructor to hide the implicit public one
     }
 
+    /**
+     * Gets the artist whose page was last selected in the current run.
+     *
+     * @return the name of the selected artist
+     */
+    public static String getSelectedArtist() {
+        return Admin.getContext().getSelectedArtist();
+    }
+
+    /**
+     * Sets the artist whose page was last selected in the current run.
+     *
+     * @param selectedArtist the name of the selected artist
+     */
+    public static void setSelectedArtist(final String selectedArtist) {
+        Admin.getContext().setSelectedArtist(selectedArtist);
+    }
+
+    /**
+     * Gets the host whose page was last selected in the current run.
+     *
+     * @return the name of the selected host
+     */
+    public static String getSelectedHost() {
+        return Admin.getContext().getSelectedHost();
+    }
+
+    /**
+     * Sets the host whose page was last selected in the current run.
+     *
+     * @param selectedHost the name of the selected host
+     */
+    public static void setSelectedHost(final String selectedHost) {
+        Admin.getContext().setSelectedHost(selectedHost);
+    }
+
     /**
      * Retrieves the top liked songs for a given user,
      * sorted by the number of likes in descending order.
@@ -113,7 +141,7 @@ public final class PageCommands {
                         .append(user.getPlaylistRecommandationName()).append("]");
                 break;
             case ARTIST:
-                Artist artist = Admin.getArtist(selectedArtist);
+                Artist artist = Admin.getArtist(getSelectedArtist());
 
                 // Albums
                 String albumsInfo = "Albums:\n\t[" + artist.getAlbums().stream()
@@ -136,7 +164,7 @@ public final class PageCommands {
                         .append(eventsInfo).append("]");
                 break;
             case HOST:
-                Host host = Admin.getHost(selectedHost);
+                Host host = Admin.getHost(getSelectedHost());
                 // Podcasts
                 String podcastsInfo = "Podcasts:\n\t[" + host.getPodcasts().stream()
                         .map(podcast -> podcast.getName() + ":\n\t["
@@ -208,7 +236,7 @@ public final class PageCommands {
                 }
             }
             if (songOnLoad != null) {
-                selectedArtist = songOnLoad.getArtist();
+                setSelectedArtist(songOnLoad.getArtist());
             }
             user.getIstoricPages().add(user.getCurrentPage());
         } else if (commandInput.getNextPage().equals("Host")) {
@@ -222,7 +250,7 @@ public final class PageCommands {
                 }
             }
             if (podcastOnLoad != null) {
-                selectedHost = podcastOnLoad.getOwner();
+                setSelectedHost(podcastOnLoad.getOwner());
             }
             user.getIstoricPages().add(user.getCurrentPage());
         } else {
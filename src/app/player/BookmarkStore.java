@@ -0,0 +1,133 @@
+package app.player;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The podcast bookmarks of one player, at most one per podcast, keyed by the name of the
+ * podcast. The bookmarks of several users can be written to a file and read back, so they
+ * outlive the run that made them.
+ * <p>
+ * File layout, all ints big endian and strings in modified UTF-8:
+ * <pre>
+ * magic, version
+ * users: count, (username, bookmark count, (podcast, episode index, remaining time)*)*
+ * </pre>
+ */
+public final class BookmarkStore {
+    public static final String EXTENSION = ".bookmarks";
+    private static final int MAGIC = 0x4757424D;
+    private static final int VERSION = 1;
+
+    private final Map<String, PodcastBookmark> bookmarks = new HashMap<>();
+
+    /**
+     * Saves a bookmark, replacing the one of the same podcast.
+     *
+     * @param bookmark the bookmark
+     */
+    public void save(final PodcastBookmark bookmark) {
+        bookmarks.put(bookmark.getName(), bookmark);
+    }
+
+    /**
+     * Gets the bookmark of a podcast.
+     *
+     * @param podcast the name of the podcast
+     * @return the bookmark, or null if the podcast has none
+     */
+    public PodcastBookmark get(final String podcast) {
+        return bookmarks.get(podcast);
+    }
+
+    /**
+     * Gets the bookmarks of every podcast.
+     *
+     * @return the bookmarks
+     */
+    public Collection<PodcastBookmark> getAll() {
+        return bookmarks.values();
+    }
+
+    /**
+     * Checks if there are no bookmarks.
+     *
+     * @return true if the store is empty
+     */
+    public boolean isEmpty() {
+        return bookmarks.isEmpty();
+    }
+
+    /**
+     * Writes the bookmarks of several users.
+     *
+     * @param stores the bookmarks, by username
+     * @param file   the file to write
+     * @throws IOException in case of exceptions to writing
+     */
+    public static void write(final Map<String, BookmarkStore> stores,
+                             final File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(stores.size());
+            for (Map.Entry<String, BookmarkStore> entry : stores.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().bookmarks.size());
+                for (PodcastBookmark bookmark : entry.getValue().getAll()) {
+                    out.writeUTF(bookmark.getName());
+                    out.writeInt(bookmark.getId());
+                    out.writeInt(bookmark.getTimestamp());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the bookmarks written by {@link #write}.
+     *
+     * @param file the bookmarks file
+     * @return the bookmarks, by username, in the order they were written
+     * @throws IOException if the file can't be read or is not a bookmarks file
+     */
+    public static Map<String, BookmarkStore> read(final File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a bookmarks file: " + file.getPath());
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported bookmarks version " + version
+                        + " in " + file.getPath());
+            }
+
+            int userCount = in.readInt();
+            Map<String, BookmarkStore> stores = new LinkedHashMap<>();
+            for (int i = 0; i < userCount; i++) {
+                String username = in.readUTF();
+                BookmarkStore store = new BookmarkStore();
+                int bookmarkCount = in.readInt();
+                for (int j = 0; j < bookmarkCount; j++) {
+                    String podcast = in.readUTF();
+                    int id = in.readInt();
+                    int timestamp = in.readInt();
+                    store.save(new PodcastBookmark(podcast, id, timestamp));
+                }
+                stores.put(username, store);
+            }
+            return stores;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package app.player;
 
+import app.Admin;
 import app.audio.Collections.AudioCollection;
 import app.audio.Files.AudioFile;
 import app.audio.LibraryEntry;
@@ -7,9 +8,6 @@ import app.user.User;
 import app.utils.Enums;
 import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * The type Player.
  */
@@ -17,20 +15,76 @@ public class Player {
     private Enums.RepeatMode repeatMode;
     private boolean shuffle;
     private boolean paused;
-    @Getter
     private PlayerSource source;
     @Getter
     private String type;
     private final int skipTime = 90;
 
-    private ArrayList<PodcastBookmark> bookmarks = new ArrayList<>();
+    @Getter
+    private final BookmarkStore bookmarks = new BookmarkStore();
+    private final User owner;
+    // the timestamp of the platform the player was last brought up to
+    private int lastTimestamp;
 
     /**
      * Instantiates a new Player.
+     *
+     * @param owner the user the player belongs to
      */
-    public Player() {
+    public Player(final User owner) {
+        this.owner = owner;
         this.repeatMode = Enums.RepeatMode.NO_REPEAT;
         this.paused = true;
+        this.lastTimestamp = Admin.getContext().getTimestamp();
+    }
+
+    /**
+     * Brings the player up to the current timestamp of the platform. The player is not moved
+     * on every timestamp; it plays the time passed since it was last used, if its owner was
+     * online, the next time it is used. The owner must catch the player up before changing
+     * their connection status.
+     */
+    public void catchUp() {
+        int now = Admin.getContext().getTimestamp();
+        int elapsed = now - lastTimestamp;
+        lastTimestamp = now;
+        if (elapsed != 0 && owner.getConnectionStatus().equals(Enums.ConnectionStatus.ONLINE)) {
+            simulatePlayer(elapsed);
+        }
+    }
+
+    /**
+     * Replaces the source, moving the player from the listeners of the old collection to
+     * those of the new one.
+     *
+     * @param next the new source, or null
+     */
+    private void replaceSource(final PlayerSource next) {
+        detach();
+        source = next;
+        if (source != null && source.getAudioCollection() != null) {
+            source.getAudioCollection().addListener(this);
+        }
+    }
+
+    /**
+     * Removes the player from the listeners of the collection it plays, as when its owner
+     * is deleted. The source itself is kept.
+     */
+    public void detach() {
+        if (source != null && source.getAudioCollection() != null) {
+            source.getAudioCollection().removeListener(this);
+        }
+    }
+
+    /**
+     * Gets the source, as of the current timestamp.
+     *
+     * @return the source
+     */
+    public PlayerSource getSource() {
+        catchUp();
+        return source;
     }
 
     /**
@@ -44,23 +98,31 @@ public class Player {
      * Stop.
      */
     public void stop() {
+        catchUp();
         if ("podcast".equals(this.type)) {
             bookmarkPodcast();
         }
 
         repeatMode = Enums.RepeatMode.NO_REPEAT;
         paused = true;
-        source = null;
+        replaceSource(null);
         shuffle = false;
     }
 
+    /**
+     * Bookmarks the podcast being played, if any, without stopping it.
+     */
+    public void saveBookmark() {
+        catchUp();
+        if ("podcast".equals(this.type)) {
+            bookmarkPodcast();
+        }
+    }
+
     private void bookmarkPodcast() {
         if (source != null && source.getAudioFile() != null) {
             String name = source.getAudioCollection().getName();
-            PodcastBookmark currentBookmark = new PodcastBookmark(name,
-                    source.getIndex(), source.getDuration());
-            bookmarks.removeIf(bookmark -> bookmark.getName().equals(currentBookmark.getName()));
-            bookmarks.add(currentBookmark);
+            bookmarks.save(new PodcastBookmark(name, source.getIndex(), source.getDuration()));
         }
     }
 
@@ -74,7 +136,7 @@ public class Player {
      */
     public static PlayerSource createSource(final String type,
                                             final LibraryEntry entry,
-                                            final List<PodcastBookmark> bookmarks) {
+                                            final BookmarkStore bookmarks) {
         if ("song".equals(type)) {
             return new PlayerSource(Enums.PlayerSourceType.LIBRARY, (AudioFile) entry);
         } else if ("playlist".equals(type)) {
@@ -89,11 +151,11 @@ public class Player {
     }
 
     private static PlayerSource createPodcastSource(final AudioCollection collection,
-                                                    final List<PodcastBookmark> bookmarks) {
-        for (PodcastBookmark bookmark : bookmarks) {
-            if (bookmark.getName().equals(collection.getName())) {
-                return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection, bookmark);
-            }
+                                                    final BookmarkStore bookmarks) {
+        PodcastBookmark bookmark = bookmarks.get(collection.getName());
+        // a restored bookmark may point past the episodes the podcast has now
+        if (bookmark != null && bookmark.getId() < collection.getNumberOfTracks()) {
+            return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection, bookmark);
         }
         return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection);
     }
@@ -105,12 +167,13 @@ public class Player {
      * @param sourceType  the sourceType
      */
     public void setSource(final LibraryEntry entry, final String sourceType) {
+        catchUp();
         if ("podcast".equals(this.type)) {
             bookmarkPodcast();
         }
 
         this.type = sourceType;
-        this.source = createSource(sourceType, entry, bookmarks);
+        replaceSource(createSource(sourceType, entry, bookmarks));
         this.repeatMode = Enums.RepeatMode.NO_REPEAT;
         this.shuffle = false;
         this.paused = true;
@@ -120,15 +183,18 @@ public class Player {
      * Pause.
      */
     public void pause() {
+        catchUp();
         paused = !paused;
     }
 
+
     /**
      * Shuffle.
      *
      * @param seed the seed
      */
     public void shuffle(final Integer seed) {
+        catchUp();
         if (seed != null) {
             source.generateShuffleOrder(seed);
         }
@@ -154,6 +220,7 @@ public class Player {
      * @return the enums . repeat mode
      */
     public Enums.RepeatMode repeat() {
+        catchUp();
         if (repeatMode == Enums.RepeatMode.NO_REPEAT) {
             if (source.getType() == Enums.PlayerSourceType.LIBRARY) {
                 repeatMode = Enums.RepeatMode.REPEAT_ONCE;
@@ -183,12 +250,14 @@ public class Player {
     public void simulatePlayer(final int time) {
         int elapsedTime = time;
         if (!paused) {
+            elapsedTime = source.seek(elapsedTime, repeatMode, shuffle);
             while (elapsedTime >= source.getDuration()) {
                 elapsedTime -= source.getDuration();
                 next();
                 if (paused) {
                     break;
                 }
+                elapsedTime = source.seek(elapsedTime, repeatMode, shuffle);
             }
             if (!paused) {
                 source.skip(-elapsedTime);
@@ -200,6 +269,7 @@ public class Player {
      * Next.
      */
     public void next() {
+        catchUp();
         paused = source.setNextAudioFile(repeatMode, shuffle);
         if (repeatMode == Enums.RepeatMode.REPEAT_ONCE) {
             repeatMode = Enums.RepeatMode.NO_REPEAT;
@@ -214,6 +284,7 @@ public class Player {
      * Prev.
      */
     public void prev() {
+        catchUp();
         source.setPrevAudioFile(shuffle);
         paused = false;
     }
@@ -227,6 +298,7 @@ public class Player {
      * Skip next.
      */
     public void skipNext() {
+        catchUp();
         if (source.getType() == Enums.PlayerSourceType.PODCAST) {
             skip(-skipTime);
         }
@@ -236,6 +308,7 @@ public class Player {
      * Skip prev.
      */
     public void skipPrev() {
+        catchUp();
         if (source.getType() == Enums.PlayerSourceType.PODCAST) {
             skip(skipTime);
         }
@@ -247,6 +320,7 @@ public class Player {
      * @return the current audio file
      */
     public AudioFile getCurrentAudioFile() {
+        catchUp();
         if (source == null) {
             return null;
         }
@@ -259,6 +333,7 @@ public class Player {
      * @return the paused
      */
     public boolean getPaused() {
+        catchUp();
         return paused;
     }
 
@@ -268,6 +343,7 @@ public class Player {
      * @return the shuffle
      */
     public boolean getShuffle() {
+        catchUp();
         return shuffle;
     }
 
@@ -277,6 +353,7 @@ public class Player {
      * @return the stats
      */
     public PlayerStats getStats(final User user) {
+        catchUp();
         String filename = "";
         int duration = 0;
         if (source != null && source.getAudioFile() != null) {
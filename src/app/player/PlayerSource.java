@@ -6,9 +6,6 @@ import app.utils.Enums;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -32,7 +29,16 @@ public class PlayerSource {
     private int index;
     private int indexShuffled;
     private int remainedDuration;
-    private final List<Integer> indices = new ArrayList<>();
+    // the shuffled order, the track index at each position, and its inverse, the position
+    // of each track index
+    private int[] shuffleOrder = new int[0];
+    private int[] shufflePositions = new int[0];
+    // the durations of the tracks summed in natural and in shuffled order, prefix[i] being
+    // the time before the i-th track, with the tracks version they were summed for
+    private long[] naturalPrefix;
+    private int naturalVersion;
+    private long[] shuffledPrefix;
+    private int shuffledVersion;
 
     /**
      * Instantiates a new Player source.
@@ -112,13 +118,13 @@ public class PlayerSource {
                 remainedDuration = audioFile.getDuration();
             } else if (repeatMode == Enums.RepeatMode.NO_REPEAT) {
                 if (shuffle) {
-                    if (indexShuffled == indices.size() - 1) {
+                    if (indexShuffled == shuffleOrder.length - 1) {
                         remainedDuration = 0;
                         isPaused = true;
                     } else {
                         indexShuffled++;
 
-                        index = indices.get(indexShuffled);
+                        index = shuffleOrder[indexShuffled];
                         updateAudioFile();
                         remainedDuration = audioFile.getDuration();
                     }
@@ -134,8 +140,8 @@ public class PlayerSource {
                 }
             } else if (repeatMode == Enums.RepeatMode.REPEAT_ALL) {
                 if (shuffle) {
-                    indexShuffled = (indexShuffled + 1) % indices.size();
-                    index = indices.get(indexShuffled);
+                    indexShuffled = (indexShuffled + 1) % shuffleOrder.length;
+                    index = shuffleOrder[indexShuffled];
                 } else {
                     index = (index + 1) % audioCollection.getNumberOfTracks();
                 }
@@ -163,7 +169,7 @@ public class PlayerSource {
                     if (indexShuffled > 0) {
                         indexShuffled--;
                     }
-                    index = indices.get(indexShuffled);
+                    index = shuffleOrder[indexShuffled];
                     updateAudioFile();
                     remainedDuration = audioFile.getDuration();
                 } else {
@@ -178,28 +184,40 @@ public class PlayerSource {
     }
 
     /**
-     * Generate shuffle order.
+     * Generate shuffle order. The tracks are swapped exactly as Collections.shuffle swaps
+     * the elements of a list, so a seed gives the same order it always did.
      *
      * @param seed the seed
      */
     public void generateShuffleOrder(final Integer seed) {
-        indices.clear();
         Random random = new Random(seed);
-        for (int i = 0; i < audioCollection.getNumberOfTracks(); i++) {
-            indices.add(i);
+        int tracks = audioCollection.getNumberOfTracks();
+        int[] order = new int[tracks];
+        for (int i = 0; i < tracks; i++) {
+            order[i] = i;
         }
-        Collections.shuffle(indices, random);
+        for (int i = tracks; i > 1; i--) {
+            int other = random.nextInt(i);
+            int swapped = order[i - 1];
+            order[i - 1] = order[other];
+            order[other] = swapped;
+        }
+
+        int[] positions = new int[tracks];
+        for (int i = 0; i < tracks; i++) {
+            positions[order[i]] = i;
+        }
+        shuffleOrder = order;
+        shufflePositions = positions;
+        shuffledPrefix = null;
     }
 
     /**
      * Update shuffle index.
      */
     public void updateShuffleIndex() {
-        for (int i = 0; i < indices.size(); i++) {
-            if (indices.get(i) == index) {
-                indexShuffled = i;
-                break;
-            }
+        if (index < shufflePositions.length) {
+            indexShuffled = shufflePositions[index];
         }
     }
 
@@ -223,4 +241,133 @@ public class PlayerSource {
         setAudioFile(audioCollection.getTrackByIndex(index));
     }
 
+    /**
+     * Plays the given time in one step, instead of moving from track to track. A track
+     * repeating on its own is gone around a whole number of times at once. In a collection
+     * played in order, with or without repeat all, the sums of the track durations locate
+     * the track the time ends in with a binary search, after going around the collection as
+     * many times as needed. Time running past the end of the collection leaves the source
+     * on its last track, with enough time left to finish it. Any other case is left to the
+     * caller, which moves from track to track.
+     *
+     * @param elapsed    the time to play
+     * @param repeatMode the repeat mode
+     * @param shuffle    the shuffle
+     * @return the time left to play from the new position
+     */
+    public int seek(final int elapsed, final Enums.RepeatMode repeatMode,
+                    final boolean shuffle) {
+        if (elapsed < remainedDuration) {
+            return elapsed;
+        }
+
+        if (repeatMode == Enums.RepeatMode.REPEAT_INFINITE
+                || repeatMode == Enums.RepeatMode.REPEAT_CURRENT_SONG) {
+            int duration = audioFile.getDuration();
+            if (duration == 0) {
+                return elapsed;
+            }
+            int left = (elapsed - remainedDuration) % duration;
+            remainedDuration = duration;
+            return left;
+        }
+
+        if (type == Enums.PlayerSourceType.LIBRARY
+                || (repeatMode != Enums.RepeatMode.NO_REPEAT
+                && repeatMode != Enums.RepeatMode.REPEAT_ALL)) {
+            return elapsed;
+        }
+
+        long[] prefix = shuffle ? shuffledPrefix() : naturalPrefix();
+        int position = shuffle ? indexShuffled : index;
+        if (prefix == null || position >= prefix.length - 1) {
+            return elapsed;
+        }
+        int tracks = prefix.length - 1;
+        long total = prefix[tracks];
+        // the current track is played to its end first, as the player would
+        long timeLeft = elapsed - remainedDuration;
+
+        long target;
+        if (repeatMode == Enums.RepeatMode.NO_REPEAT) {
+            if (position == tracks - 1) {
+                return elapsed;
+            }
+            target = prefix[position + 1] + timeLeft;
+            if (target >= total) {
+                moveTo(tracks - 1, shuffle);
+                remainedDuration = audioFile.getDuration();
+                return (int) (target - prefix[tracks - 1]);
+            }
+        } else {
+            if (total == 0) {
+                return elapsed;
+            }
+            target = (prefix[(position + 1) % tracks] + timeLeft) % total;
+        }
+
+        int found = lastAtOrBefore(prefix, tracks, target);
+        moveTo(found, shuffle);
+        remainedDuration = audioFile.getDuration();
+        return (int) (target - prefix[found]);
+    }
+
+    private void moveTo(final int position, final boolean shuffle) {
+        if (shuffle) {
+            indexShuffled = position;
+            index = shuffleOrder[position];
+        } else {
+            index = position;
+        }
+        updateAudioFile();
+    }
+
+    // the last track of the first ones starting at or before the given time
+    private static int lastAtOrBefore(final long[] prefix, final int tracks, final long time) {
+        int low = 0;
+        int high = tracks - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (prefix[middle] <= time) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private long[] naturalPrefix() {
+        int version = audioCollection.getTracksVersion();
+        if (naturalPrefix == null || naturalVersion != version) {
+            int tracks = audioCollection.getNumberOfTracks();
+            long[] prefix = new long[tracks + 1];
+            for (int i = 0; i < tracks; i++) {
+                prefix[i + 1] = prefix[i] + audioCollection.getTrackByIndex(i).getDuration();
+            }
+            naturalPrefix = prefix;
+            naturalVersion = version;
+        }
+        return naturalPrefix;
+    }
+
+    private long[] shuffledPrefix() {
+        int version = audioCollection.getTracksVersion();
+        if (shuffledPrefix == null || shuffledVersion != version) {
+            int tracks = audioCollection.getNumberOfTracks();
+            long[] prefix = new long[shuffleOrder.length + 1];
+            for (int i = 0; i < shuffleOrder.length; i++) {
+                // an order shuffled before the collection lost tracks is left to the caller
+                if (shuffleOrder[i] >= tracks) {
+                    return null;
+                }
+                prefix[i + 1] = prefix[i]
+                        + audioCollection.getTrackByIndex(shuffleOrder[i]).getDuration();
+            }
+            shuffledPrefix = prefix;
+            shuffledVersion = version;
+        }
+        return shuffledPrefix;
+    }
+
 }
@@ -0,0 +1,81 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A hash index from the value of one field of the songs, ignoring case, to the songs having
+ * it, sorted by creation. Values are folded once, when a song is added, so that two values
+ * fold the same exactly when {@link String#equalsIgnoreCase} finds them equal.
+ */
+final class FieldIndex {
+    private final Function<Song, String> field;
+    private final Map<String, List<Song>> songsByValue = new HashMap<>();
+
+    /**
+     * Instantiates a new field index.
+     *
+     * @param field the field of the songs to index
+     */
+    FieldIndex(final Function<Song, String> field) {
+        this.field = field;
+    }
+
+    /**
+     * Adds a song under its value.
+     *
+     * @param song the song
+     */
+    void add(final Song song) {
+        String value = field.apply(song);
+        if (value != null) {
+            Postings.insert(songsByValue.computeIfAbsent(fold(value),
+                    key -> new ArrayList<>()), song);
+        }
+    }
+
+    /**
+     * Removes a song from its value.
+     *
+     * @param song the song
+     */
+    void remove(final Song song) {
+        String value = field.apply(song);
+        if (value == null) {
+            return;
+        }
+        String key = fold(value);
+        List<Song> songs = songsByValue.get(key);
+        if (songs != null) {
+            Postings.remove(songs, song);
+            if (songs.isEmpty()) {
+                songsByValue.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Gets the songs having a value, ignoring case.
+     *
+     * @param value the value
+     * @return the songs, sorted by creation; the list must not be changed
+     */
+    List<Song> postings(final String value) {
+        return songsByValue.getOrDefault(fold(value), Collections.emptyList());
+    }
+
+    // equalsIgnoreCase matches two characters when their upper cases, or the lower cases
+    // of those, are the same, so the lower case of the upper case is what they share
+    private static String fold(final String value) {
+        StringBuilder folded = new StringBuilder(value.length());
+        value.codePoints().forEach(codePoint -> folded.appendCodePoint(
+                Character.toLowerCase(Character.toUpperCase(codePoint))));
+        return folded.toString();
+    }
+}
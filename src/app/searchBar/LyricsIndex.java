@@ -0,0 +1,170 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A trigram index over the lyrics of the songs. Every three consecutive characters of the
+ * lyrics, with their case folded, point to the song; the lyrics themselves are not copied.
+ * The songs whose lyrics may contain a text are those having all the trigrams of the text;
+ * only they are checked for the text itself, ignoring case the way
+ * {@link String#regionMatches(boolean, int, String, int, int)} does, which folds case one
+ * character at a time as the trigrams are. Texts shorter than a trigram are checked the
+ * same way against every song.
+ */
+public final class LyricsIndex {
+    private static final int GRAM = 3;
+    private static final int CHAR_BITS = 16;
+
+    // the songs having lyrics, sorted by creation
+    private final List<Song> songs = new ArrayList<>();
+    private final Map<Long, List<Song>> songsByTrigram = new HashMap<>();
+
+    /**
+     * Instantiates a new lyrics index.
+     *
+     * @param initial the songs to start with
+     */
+    public LyricsIndex(final Collection<Song> initial) {
+        for (Song song : initial) {
+            add(song);
+        }
+    }
+
+    /**
+     * Adds a song under each trigram of its lyrics.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        if (song.getLyrics() == null || Postings.contains(songs, song)) {
+            return;
+        }
+        Postings.insert(songs, song);
+        for (Long trigram : trigrams(fold(song.getLyrics()))) {
+            Postings.insert(songsByTrigram.computeIfAbsent(trigram,
+                    key -> new ArrayList<>()), song);
+        }
+    }
+
+    /**
+     * Removes a song from each trigram of its lyrics.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        if (!Postings.contains(songs, song)) {
+            return;
+        }
+        Postings.remove(songs, song);
+        for (Long trigram : trigrams(fold(song.getLyrics()))) {
+            List<Song> found = songsByTrigram.get(trigram);
+            if (found != null) {
+                Postings.remove(found, song);
+                if (found.isEmpty()) {
+                    songsByTrigram.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes several songs.
+     *
+     * @param removed the songs
+     */
+    public void removeAll(final Collection<Song> removed) {
+        for (Song song : removed) {
+            remove(song);
+        }
+    }
+
+    /**
+     * Bounds the number of songs whose lyrics may contain a text by the songs of its rarest
+     * trigram, without intersecting anything.
+     *
+     * @param text the text
+     * @return at least the number of songs whose lyrics contain the text
+     */
+    int estimate(final String text) {
+        String wanted = fold(text);
+        if (wanted.length() < GRAM) {
+            return songs.size();
+        }
+        int estimate = songs.size();
+        for (Long trigram : trigrams(wanted)) {
+            List<Song> found = songsByTrigram.get(trigram);
+            estimate = Math.min(estimate, found == null ? 0 : found.size());
+        }
+        return estimate;
+    }
+
+    /**
+     * Gets the songs having every trigram of a text, which are the only ones whose lyrics
+     * may contain it. They still have to be checked for the text itself.
+     *
+     * @param text the text
+     * @return the songs, sorted by creation, or null if the text is shorter than a trigram
+     */
+    List<Song> candidates(final String text) {
+        String wanted = fold(text);
+        if (wanted.length() < GRAM) {
+            return null;
+        }
+        List<List<Song>> postings = new ArrayList<>();
+        for (Long trigram : trigrams(wanted)) {
+            List<Song> found = songsByTrigram.get(trigram);
+            if (found == null) {
+                return new ArrayList<>();
+            }
+            postings.add(found);
+        }
+        return Postings.intersect(postings);
+    }
+
+    /**
+     * Checks if the lyrics of a song contain a text, ignoring case, without copying them.
+     * Songs the index doesn't have are checked by the song itself.
+     *
+     * @param song the song
+     * @param text the text
+     * @return true if the lyrics contain the text
+     */
+    public boolean matches(final Song song, final String text) {
+        if (!Postings.contains(songs, song)) {
+            return song.matchesLyrics(text);
+        }
+        String own = song.getLyrics();
+        for (int i = 0; i + text.length() <= own.length(); i++) {
+            if (own.regionMatches(true, i, text, 0, text.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // the text with the case of each character folded, as regionMatches compares them
+    private static String fold(final String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        text.codePoints().forEach(codePoint -> folded.appendCodePoint(
+                Character.toLowerCase(Character.toUpperCase(codePoint))));
+        return folded.toString();
+    }
+
+    private static Set<Long> trigrams(final String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << (2 * CHAR_BITS))
+                    | ((long) text.charAt(i + 1) << CHAR_BITS)
+                    | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,218 @@
+package app.searchBar;
+
+import app.audio.LibraryEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * The entries of one type sorted by their lowercased name, so the entries whose name starts
+ * with a prefix are found with one lookup, followed by a walk over the matches only. The
+ * names are lowercased once, when an entry is added, the same way
+ * {@link LibraryEntry#matchesName} lowercases them.
+ *
+ * <p>The entries sharing a name are kept in the order they are found in, so the matches of
+ * a prefix are merged from these buckets as they are read, and reading the first few costs
+ * a step per bucket, not a sort of every match.
+ *
+ * @param <T> the type of the entries
+ */
+public final class NameIndex<T extends LibraryEntry> {
+    /**
+     * The order of creation, the order of the lists of most types.
+     */
+    public static final Comparator<LibraryEntry> CREATED =
+            Comparator.comparingLong(LibraryEntry::getSequence);
+    // the longest prefixes counted ahead; longer ones have few names to walk
+    private static final int COUNTED_LENGTH = 4;
+
+    private final Comparator<? super T> order;
+    // entries sharing a lowercased name, sorted by the order of the index
+    private final TreeMap<String, List<T>> entries = new TreeMap<>();
+    // the number of entries by every short prefix of their lowercased name
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    /**
+     * Instantiates a new name index, finding the entries in creation order.
+     *
+     * @param initial the entries to start with
+     */
+    public NameIndex(final Collection<? extends T> initial) {
+        this(initial, CREATED);
+    }
+
+    /**
+     * Instantiates a new name index.
+     *
+     * @param initial the entries to start with
+     * @param order   the order to find the entries in; it must tell any two entries apart
+     */
+    public NameIndex(final Collection<? extends T> initial, final Comparator<? super T> order) {
+        this.order = order;
+        for (T entry : initial) {
+            add(entry);
+        }
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param entry the entry
+     */
+    public void add(final T entry) {
+        String key = key(entry);
+        List<T> bucket = entries.computeIfAbsent(key, name -> new ArrayList<>(1));
+        int position = Collections.binarySearch(bucket, entry, order);
+        bucket.add(position < 0 ? -position - 1 : position, entry);
+        countPrefixes(key, 1);
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param entry the entry
+     */
+    public void remove(final T entry) {
+        String key = key(entry);
+        List<T> bucket = entries.get(key);
+        if (bucket != null && bucket.removeIf(other -> other == entry)) {
+            if (bucket.isEmpty()) {
+                entries.remove(key);
+            }
+            countPrefixes(key, -1);
+        }
+    }
+
+    /**
+     * Removes several entries.
+     *
+     * @param removed the entries
+     */
+    public void removeAll(final Collection<? extends T> removed) {
+        for (T entry : removed) {
+            remove(entry);
+        }
+    }
+
+    /**
+     * Sorts the entries sharing a name again, after the order of the index changed.
+     */
+    public void reorder() {
+        for (List<T> bucket : entries.values()) {
+            bucket.sort(order);
+        }
+    }
+
+    /**
+     * Finds the entries whose name starts with a prefix, ignoring case. The entries are
+     * read as they are needed, while the index stays unchanged.
+     *
+     * @param prefix the prefix
+     * @return the entries found, in the order of the index
+     */
+    public Iterable<T> find(final String prefix) {
+        String key = prefix.toLowerCase();
+        return () -> merge(key);
+    }
+
+    /**
+     * Counts the entries whose name starts with a prefix, ignoring case, without finding
+     * them.
+     *
+     * @param prefix the prefix
+     * @return the number of entries found
+     */
+    int count(final String prefix) {
+        String key = prefix.toLowerCase();
+        if (key.length() <= COUNTED_LENGTH) {
+            return counts.getOrDefault(key, 0);
+        }
+        int count = 0;
+        for (Map.Entry<String, List<T>> entry : entries.tailMap(key, true).entrySet()) {
+            if (!entry.getKey().startsWith(key)) {
+                break;
+            }
+            count += entry.getValue().size();
+        }
+        return count;
+    }
+
+    private void countPrefixes(final String key, final int delta) {
+        for (int length = 0; length <= Math.min(key.length(), COUNTED_LENGTH); length++) {
+            String prefix = key.substring(0, length);
+            if (counts.merge(prefix, delta, Integer::sum) == 0) {
+                counts.remove(prefix);
+            }
+        }
+    }
+
+    // the buckets of the names starting with the key, merged by the order of the index
+    private Iterator<T> merge(final String key) {
+        List<Cursor> cursors = new ArrayList<>();
+        for (Map.Entry<String, List<T>> entry : entries.tailMap(key, true).entrySet()) {
+            if (!entry.getKey().startsWith(key)) {
+                break;
+            }
+            cursors.add(new Cursor(entry.getValue()));
+        }
+        if (cursors.size() == 1) {
+            return Collections.unmodifiableList(cursors.get(0).bucket).iterator();
+        }
+
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(cursors);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Cursor cursor = heads.poll();
+                if (cursor == null) {
+                    throw new NoSuchElementException();
+                }
+                T entry = cursor.head();
+                cursor.position++;
+                if (cursor.position < cursor.bucket.size()) {
+                    heads.add(cursor);
+                }
+                return entry;
+            }
+        };
+    }
+
+    private static String key(final LibraryEntry entry) {
+        return entry.getName().toLowerCase();
+    }
+
+    /**
+     * The next entry to read from a bucket. Cursors compare by their next entries.
+     */
+    private final class Cursor implements Comparable<Cursor> {
+        private final List<T> bucket;
+        private int position;
+
+        Cursor(final List<T> bucket) {
+            this.bucket = bucket;
+        }
+
+        T head() {
+            return bucket.get(position);
+        }
+
+        @Override
+        public int compareTo(final Cursor other) {
+            return order.compare(head(), other.head());
+        }
+    }
+}
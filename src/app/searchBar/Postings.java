@@ -0,0 +1,95 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorted song lists, as kept by the inverted indexes of the search bar. A list holds each
+ * song once, sorted by creation, which is the order of the song list.
+ */
+final class Postings {
+    static final Comparator<Song> CREATED = Comparator.comparingLong(Song::getSequence);
+
+    /**
+     * for coding style
+     */
+    private Postings() {
+    }
+
+    /**
+     * Inserts a song in its place, unless the list already has it.
+     *
+     * @param songs the sorted list
+     * @param song  the song
+     */
+    static void insert(final List<Song> songs, final Song song) {
+        int position = find(songs, song);
+        if (position < 0) {
+            songs.add(-position - 1, song);
+        }
+    }
+
+    /**
+     * Removes a song from a sorted list.
+     *
+     * @param songs the sorted list
+     * @param song  the song
+     */
+    static void remove(final List<Song> songs, final Song song) {
+        int position = find(songs, song);
+        if (position >= 0) {
+            songs.remove(position);
+        }
+    }
+
+    /**
+     * Checks if a sorted list has a song.
+     *
+     * @param songs the sorted list
+     * @param song  the song
+     * @return true if the song is in the list
+     */
+    static boolean contains(final List<Song> songs, final Song song) {
+        return find(songs, song) >= 0;
+    }
+
+    /**
+     * Intersects sorted lists, walking the shortest one and searching each of the others
+     * past the last song found in it.
+     *
+     * @param lists the sorted lists, at least one
+     * @return the songs found in every list, sorted
+     */
+    static List<Song> intersect(final List<List<Song>> lists) {
+        List<List<Song>> postings = new ArrayList<>(lists);
+        postings.sort(Comparator.comparingInt(List::size));
+
+        List<Song> found = new ArrayList<>();
+        int[] starts = new int[postings.size()];
+        for (Song song : postings.get(0)) {
+            boolean everywhere = true;
+            for (int i = 1; i < postings.size() && everywhere; i++) {
+                List<Song> songs = postings.get(i);
+                int position = find(songs.subList(starts[i], songs.size()), song);
+                if (position >= 0) {
+                    starts[i] += position + 1;
+                } else {
+                    starts[i] += -position - 1;
+                    everywhere = false;
+                }
+            }
+            if (everywhere) {
+                found.add(song);
+            }
+        }
+        return found;
+    }
+
+    private static int find(final List<Song> songs, final Song song) {
+        return Collections.binarySearch(songs, song, CREATED);
+    }
+}
@@ -6,18 +6,9 @@ import app.audio.LibraryEntry;
 import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-
-import static app.searchBar.FilterUtils.filterByAlbum;
-import static app.searchBar.FilterUtils.filterByArtist;
-import static app.searchBar.FilterUtils.filterByFollowers;
-import static app.searchBar.FilterUtils.filterByGenre;
-import static app.searchBar.FilterUtils.filterByLyrics;
-import static app.searchBar.FilterUtils.filterByName;
-import static app.searchBar.FilterUtils.filterByOwner;
-import static app.searchBar.FilterUtils.filterByPlaylistVisibility;
-import static app.searchBar.FilterUtils.filterByReleaseYear;
-import static app.searchBar.FilterUtils.filterByTags;
+import java.util.function.Predicate;
 
 /**
  * The type Search bar.
@@ -58,91 +49,48 @@ public class SearchBar {
      * @return the list
      */
     public List<LibraryEntry> search(final Filters filters, final String type) {
-        List<LibraryEntry> entries;
+        // the candidates come from the most selective source at hand, an index when there
+        // is one for the filters, and are checked against the other filters in one pass
+        Iterable<? extends LibraryEntry> entries;
+        List<Predicate<LibraryEntry>> checks = new ArrayList<>();
 
         switch (type) {
             case "song":
-                entries = new ArrayList<>(Admin.getSongs());
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
-
-                if (filters.getAlbum() != null) {
-                    entries = filterByAlbum(entries, filters.getAlbum());
-                }
-
-                if (filters.getTags() != null) {
-                    entries = filterByTags(entries, filters.getTags());
-                }
-
-                if (filters.getLyrics() != null) {
-                    entries = filterByLyrics(entries, filters.getLyrics());
-                }
-
-                if (filters.getGenre() != null) {
-                    entries = filterByGenre(entries, filters.getGenre());
-                }
-
-                if (filters.getReleaseYear() != null) {
-                    entries = filterByReleaseYear(entries, filters.getReleaseYear());
-                }
-
-                if (filters.getArtist() != null) {
-                    entries = filterByArtist(entries, filters.getArtist());
-                }
-
+                // every song filter is indexed, so the song index plans them itself
+                entries = Admin.searchSongs(filters, MAX_RESULTS);
                 break;
             case "playlist":
-                entries = new ArrayList<>(Admin.getPlaylists());
+                entries = entriesNamed(filters, type, Admin.getPlaylists());
 
-                entries = filterByPlaylistVisibility(entries, user);
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
+                checks.add(entry -> entry.isVisibleToUser(user));
 
                 if (filters.getOwner() != null) {
-                    entries = filterByOwner(entries, filters.getOwner());
+                    checks.add(entry -> entry.matchesOwner(filters.getOwner()));
                 }
 
                 if (filters.getFollowers() != null) {
-                    entries = filterByFollowers(entries, filters.getFollowers());
+                    checks.add(entry -> entry.matchesFollowers(filters.getFollowers()));
                 }
 
                 break;
             case "podcast":
-                entries = new ArrayList<>(Admin.getPodcasts());
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
+                entries = entriesNamed(filters, type, Admin.getPodcasts());
 
                 if (filters.getOwner() != null) {
-                    entries = filterByOwner(entries, filters.getOwner());
+                    checks.add(entry -> entry.matchesOwner(filters.getOwner()));
                 }
                 break;
             case "artist":
-                entries = new ArrayList<>(Admin.getArtists());
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
+                entries = entriesNamed(filters, type, Admin.getArtists());
                 break;
             case "host":
-                entries = new ArrayList<>(Admin.getHosts());
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
+                entries = entriesNamed(filters, type, Admin.getHosts());
                 break;
             case "album":
-                entries = new ArrayList<>(Admin.getAlbums());
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
+                entries = entriesNamed(filters, type, Admin.getAlbums());
 
                 if (filters.getOwner() != null) {
-                    entries = filterByOwner(entries, filters.getOwner());
+                    checks.add(entry -> entry.matchesOwner(filters.getOwner()));
                 }
 
                 break;
@@ -150,15 +98,46 @@ public class SearchBar {
                 entries = new ArrayList<>();
         }
 
-        while (entries.size() > MAX_RESULTS) {
-            entries.remove(entries.size() - 1);
-        }
-
-        this.results = entries;
+        this.results = firstMatching(entries, checks);
         this.lastSearchType = type;
         return this.results;
     }
 
+    // the first entries, in list order, passing every check; the walk stops at the last
+    // result shown, so the rest of the list is never checked
+    private static List<LibraryEntry> firstMatching(final Iterable<? extends LibraryEntry> entries,
+                                                    final List<Predicate<LibraryEntry>> checks) {
+        List<LibraryEntry> found = new ArrayList<>(MAX_RESULTS);
+        for (LibraryEntry entry : entries) {
+            if (found.size() >= MAX_RESULTS) {
+                break;
+            }
+            if (matchesAll(entry, checks)) {
+                found.add(entry);
+            }
+        }
+        return found;
+    }
+
+    private static boolean matchesAll(final LibraryEntry entry,
+                                      final List<Predicate<LibraryEntry>> checks) {
+        for (Predicate<LibraryEntry> check : checks) {
+            if (!check.test(entry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the entries matching the name filter, found through the name index, or the whole list
+    private static Iterable<? extends LibraryEntry> entriesNamed(
+            final Filters filters, final String type, final List<? extends LibraryEntry> all) {
+        if (filters.getName() != null) {
+            return Admin.searchByName(type, filters.getName());
+        }
+        return Collections.unmodifiableList(all);
+    }
+
     /**
      * Select library entry.
      *
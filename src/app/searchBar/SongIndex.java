@@ -0,0 +1,220 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Every index over the songs of the library, kept in sync together. A song search looks up
+ * each of its filters in its index, which gives the matching songs sorted by creation, or
+ * at least how many there are; the songs of the rarest filter are then checked against
+ * the others. The songs found are in creation order, which is the order of the song list.
+ */
+public final class SongIndex {
+    // the songs sorted by creation, for the searches without any indexed filter
+    private final List<Song> songs = new ArrayList<>();
+    private final NameIndex<Song> names = new NameIndex<>(List.of());
+    private final TagIndex tags = new TagIndex(List.of());
+    private final LyricsIndex lyrics = new LyricsIndex(List.of());
+    private final FieldIndex albums = new FieldIndex(Song::getAlbum);
+    private final FieldIndex genres = new FieldIndex(Song::getGenre);
+    private final FieldIndex artists = new FieldIndex(Song::getArtist);
+    private final YearIndex years = new YearIndex();
+
+    /**
+     * Instantiates a new song index.
+     *
+     * @param initial the songs to start with
+     */
+    public SongIndex(final Collection<Song> initial) {
+        for (Song song : initial) {
+            add(song);
+        }
+    }
+
+    /**
+     * Adds a song to every index.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        Postings.insert(songs, song);
+        names.add(song);
+        tags.add(song);
+        lyrics.add(song);
+        albums.add(song);
+        genres.add(song);
+        artists.add(song);
+        years.add(song);
+    }
+
+    /**
+     * Removes a song from every index.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        Postings.remove(songs, song);
+        names.remove(song);
+        tags.remove(song);
+        lyrics.remove(song);
+        albums.remove(song);
+        genres.remove(song);
+        artists.remove(song);
+        years.remove(song);
+    }
+
+    /**
+     * Removes several songs.
+     *
+     * @param removed the songs
+     */
+    public void removeAll(final Collection<Song> removed) {
+        for (Song song : removed) {
+            remove(song);
+        }
+    }
+
+    /**
+     * Finds the songs whose name starts with a prefix, ignoring case.
+     *
+     * @param prefix the prefix
+     * @return the songs found, in creation order
+     */
+    public Iterable<Song> searchByName(final String prefix) {
+        return names.find(prefix);
+    }
+
+    /**
+     * Finds the first songs matching every song filter set: name, album, tags, lyrics,
+     * genre, release year and artist. The filters are planned by how many songs each may
+     * keep: the songs of the most selective one are walked in creation order, the others
+     * are checked on each of them, rarest first, and the walk stops at the limit.
+     *
+     * @param filters the filters
+     * @param limit   the most songs to find
+     * @return the songs found, in creation order
+     */
+    public List<LibraryEntry> search(final Filters filters, final int limit) {
+        YearQuery query = null;
+        if (filters.getReleaseYear() != null) {
+            try {
+                query = YearQuery.parse(filters.getReleaseYear());
+            } catch (NumberFormatException e) {
+                // filtering the song list parsed the year once per song the filters before
+                // it had left, so a malformed year only failed the searches having any
+                if (!first(plan(filters, null, false), 1).isEmpty()) {
+                    throw e;
+                }
+                return new ArrayList<>();
+            }
+        }
+        return first(plan(filters, query, true), limit);
+    }
+
+    // the first songs passing every step, walking the songs of the most selective one
+    private List<LibraryEntry> first(final List<Step> steps, final int limit) {
+        Iterable<Song> walked = songs;
+        List<Predicate<Song>> checks = new ArrayList<>();
+        if (!steps.isEmpty()) {
+            walked = steps.get(0).postings.get();
+            for (Step step : steps) {
+                if (step != steps.get(0) || !step.exact) {
+                    checks.add(step.check);
+                }
+            }
+        }
+
+        List<LibraryEntry> found = new ArrayList<>(limit);
+        for (Song song : walked) {
+            if (found.size() >= limit) {
+                break;
+            }
+            if (matchesAll(song, checks)) {
+                found.add(song);
+            }
+        }
+        return found;
+    }
+
+    // one step per filter set, the most selective first; the release year and the artist,
+    // which the song list was filtered by last, are left out unless all the steps are asked
+    private List<Step> plan(final Filters filters, final YearQuery query, final boolean all) {
+        List<Step> steps = new ArrayList<>();
+        String name = filters.getName();
+        if (name != null) {
+            steps.add(new Step(names.count(name), () -> names.find(name),
+                    song -> song.matchesName(name), true));
+        }
+        if (filters.getAlbum() != null) {
+            steps.add(Step.of(albums.postings(filters.getAlbum())));
+        }
+        if (filters.getTags() != null) {
+            for (String tag : filters.getTags()) {
+                steps.add(Step.of(tags.postings(tag)));
+            }
+        }
+        String text = filters.getLyrics();
+        if (text != null) {
+            // the trigrams only narrow the songs down, the lyrics are always checked
+            steps.add(new Step(lyrics.estimate(text), () -> {
+                List<Song> candidates = lyrics.candidates(text);
+                return candidates == null ? songs : candidates;
+            }, song -> lyrics.matches(song, text), false));
+        }
+        if (filters.getGenre() != null) {
+            steps.add(Step.of(genres.postings(filters.getGenre())));
+        }
+        if (all && query != null) {
+            steps.add(new Step(years.count(query), () -> years.postings(query),
+                    song -> song.getReleaseYear() != null
+                            && query.matches(song.getReleaseYear()), true));
+        }
+        if (all && filters.getArtist() != null) {
+            steps.add(Step.of(artists.postings(filters.getArtist())));
+        }
+        steps.sort(Comparator.comparingInt(step -> step.estimate));
+        return steps;
+    }
+
+    private static boolean matchesAll(final Song song, final List<Predicate<Song>> checks) {
+        for (Predicate<Song> check : checks) {
+            if (!check.test(song)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One filter of a search: how many songs it may keep, the songs it keeps, sorted by
+     * creation, and the check of a single song against it. The songs of an inexact step
+     * still have to be checked.
+     */
+    private static final class Step {
+        private final int estimate;
+        private final Supplier<Iterable<Song>> postings;
+        private final Predicate<Song> check;
+        private final boolean exact;
+
+        Step(final int estimate, final Supplier<Iterable<Song>> postings,
+             final Predicate<Song> check, final boolean exact) {
+            this.estimate = estimate;
+            this.postings = postings;
+            this.check = check;
+            this.exact = exact;
+        }
+
+        // a filter answered by a sorted list: a song matches it when the list has it
+        static Step of(final List<Song> postings) {
+            return new Step(postings.size(), () -> postings,
+                    song -> Postings.contains(postings, song), true);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An inverted index from tag to the songs having it. Tags are lowercased once, when a song
+ * is added, the same way {@link Song#matchesTags} lowercases them, and the songs of a tag
+ * are kept sorted by creation, which is the order of the song list. The songs having
+ * several tags are the intersection of their sorted lists, walked from the shortest one.
+ */
+public final class TagIndex {
+    private final Map<String, List<Song>> songsByTag = new HashMap<>();
+
+    /**
+     * Instantiates a new tag index.
+     *
+     * @param initial the songs to start with
+     */
+    public TagIndex(final Collection<Song> initial) {
+        for (Song song : initial) {
+            add(song);
+        }
+    }
+
+    /**
+     * Adds a song under each of its tags.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        if (song.getTags() == null) {
+            return;
+        }
+        for (String tag : song.getTags()) {
+            // a song listing the same tag twice is kept once
+            Postings.insert(songsByTag.computeIfAbsent(tag.toLowerCase(),
+                    key -> new ArrayList<>()), song);
+        }
+    }
+
+    /**
+     * Removes a song from each of its tags.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        if (song.getTags() == null) {
+            return;
+        }
+        for (String tag : song.getTags()) {
+            String key = tag.toLowerCase();
+            List<Song> songs = songsByTag.get(key);
+            if (songs != null) {
+                Postings.remove(songs, song);
+                if (songs.isEmpty()) {
+                    songsByTag.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes several songs.
+     *
+     * @param removed the songs
+     */
+    public void removeAll(final Collection<Song> removed) {
+        for (Song song : removed) {
+            remove(song);
+        }
+    }
+
+    /**
+     * Gets the songs having a tag, ignoring case.
+     *
+     * @param tag the tag
+     * @return the songs, sorted by creation; the list must not be changed
+     */
+    List<Song> postings(final String tag) {
+        return songsByTag.getOrDefault(tag.toLowerCase(), Collections.emptyList());
+    }
+}
@@ -0,0 +1,89 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * The songs sorted by release year, so the songs of a range of years are found with one
+ * lookup, followed by a walk over the years of the range only. The songs of a year are
+ * kept sorted by creation.
+ */
+final class YearIndex {
+    private final TreeMap<Integer, List<Song>> songsByYear = new TreeMap<>();
+
+    /**
+     * Adds a song under its release year.
+     *
+     * @param song the song
+     */
+    void add(final Song song) {
+        if (song.getReleaseYear() != null) {
+            Postings.insert(songsByYear.computeIfAbsent(song.getReleaseYear(),
+                    key -> new ArrayList<>()), song);
+        }
+    }
+
+    /**
+     * Removes a song from its release year.
+     *
+     * @param song the song
+     */
+    void remove(final Song song) {
+        if (song.getReleaseYear() == null) {
+            return;
+        }
+        List<Song> songs = songsByYear.get(song.getReleaseYear());
+        if (songs != null) {
+            Postings.remove(songs, song);
+            if (songs.isEmpty()) {
+                songsByYear.remove(song.getReleaseYear());
+            }
+        }
+    }
+
+    /**
+     * Counts the songs released in the years a query accepts, without collecting them.
+     *
+     * @param query the query
+     * @return the number of songs
+     */
+    int count(final YearQuery query) {
+        if (query.getFrom() > query.getTo()) {
+            return 0;
+        }
+        int count = 0;
+        for (List<Song> year : songsByYear.subMap((int) query.getFrom(), true,
+                (int) query.getTo(), true).values()) {
+            count += year.size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the songs released in the years a query accepts.
+     *
+     * @param query the query
+     * @return the songs, sorted by creation; the list must not be changed
+     */
+    List<Song> postings(final YearQuery query) {
+        if (query.getFrom() > query.getTo()) {
+            return Collections.emptyList();
+        }
+        Collection<List<Song>> years = songsByYear.subMap((int) query.getFrom(), true,
+                (int) query.getTo(), true).values();
+        if (years.size() == 1) {
+            return years.iterator().next();
+        }
+        List<Song> songs = new ArrayList<>();
+        for (List<Song> year : years) {
+            songs.addAll(year);
+        }
+        songs.sort(Postings.CREATED);
+        return songs;
+    }
+}
@@ -0,0 +1,47 @@
+package app.searchBar;
+
+import lombok.Getter;
+
+/**
+ * A release year filter, parsed once from its query: {@code "<1990"} for the years before
+ * 1990, {@code ">2000"} for those after 2000, or a year alone for that year. It keeps the
+ * years it accepts as an inclusive range, empty when the first year is after the last.
+ */
+@Getter
+public final class YearQuery {
+    private final long from;
+    private final long to;
+
+    private YearQuery(final long from, final long to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Parses a release year query.
+     *
+     * @param query the query
+     * @return the parsed query
+     * @throws NumberFormatException if the year of the query is not a number
+     */
+    public static YearQuery parse(final String query) {
+        if (query.startsWith("<")) {
+            return new YearQuery(Integer.MIN_VALUE, Integer.parseInt(query.substring(1)) - 1L);
+        } else if (query.startsWith(">")) {
+            return new YearQuery(Integer.parseInt(query.substring(1)) + 1L, Integer.MAX_VALUE);
+        } else {
+            int year = Integer.parseInt(query);
+            return new YearQuery(year, year);
+        }
+    }
+
+    /**
+     * Checks if a year is accepted.
+     *
+     * @param year the year
+     * @return true if the query accepts it
+     */
+    public boolean matches(final int year) {
+        return from <= year && year <= to;
+    }
+}
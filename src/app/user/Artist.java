@@ -34,8 +34,6 @@ public class Artist extends LibraryEntry implements UserVisitable, Subject {
     @Getter
     private ArrayList<Album> albums;
     @Getter
-    private static ArrayList<Event> events;
-    @Getter
     private ArrayList<Merch> merches;
     @Getter
     @Setter
@@ -60,7 +58,7 @@ public class Artist extends LibraryEntry implements UserVisitable, Subject {
         this.city = city;
         this.userType = userType;
         albums = new ArrayList<>();
-        events = new ArrayList<>();
+        Admin.getContext().setEvents(new ArrayList<>());
         merches = new ArrayList<>();
         merchRevenue = 0;
         songRevenue = 0;
@@ -81,6 +79,15 @@ public class Artist extends LibraryEntry implements UserVisitable, Subject {
         return deletion.deleteUser(this);
     }
 
+    /**
+     * Gets the events of the artists in the current run.
+     *
+     * @return the events
+     */
+    public static ArrayList<Event> getEvents() {
+        return Admin.getContext().getEvents();
+    }
+
     /**
      * Get the total number of likes for the artist, based
      * on the likes of their song in their albums.
@@ -88,11 +95,7 @@ public class Artist extends LibraryEntry implements UserVisitable, Subject {
      * @return The total number of likes for the artist.
      */
     public int getNumberLikes() {
-        int likes = 0;
-        for (Album album : getAlbums()) {
-            likes += album.getNumberLikes();
-        }
-        return likes;
+        return Admin.getArtistLikes(this);
     }
 
     public ArrayList<User> top5Fans() {
@@ -157,24 +160,20 @@ public class Artist extends LibraryEntry implements UserVisitable, Subject {
 
         // Create new Song instances for each song in the input and update the system's song list
         ArrayList<Song> songsAlbum = new ArrayList<>();
-        List<Song> songs = Admin.getSongs();
         for (SongInput song : commandInput.getSongs()) {
             Song songInAlbum = new Song(song.getName(), song.getDuration(), song.getAlbum(),
                     song.getTags(), song.getLyrics(), song.getGenre(), song.getReleaseYear(),
                     song.getArtist());
-            songs.add(songInAlbum);
             songsAlbum.add(songInAlbum);
         }
-        Admin.updateSongList(songs);
+        Admin.addSongs(songsAlbum);
 
         // Create and add a new Album instance for the artist and update the system's album list
         Album album = new Album(commandInput.getName(), commandInput.getUsername(),
                 commandInput.getReleaseYear(), commandInput.getDescription(), songsAlbum);
         user.getAlbums().add(album);
         artist.getAlbums().add(album);
-        List<Album> albumsToAdd = Admin.getAlbums();
-        albumsToAdd.add(album);
-        Admin.updateAlbumList(albumsToAdd);
+        Admin.addAlbum(album);
 
         artist.notifyObserversAlbum();
         return commandInput.getUsername() + " has added new album successfully.";
@@ -231,7 +230,7 @@ public class Artist extends LibraryEntry implements UserVisitable, Subject {
         // Remove references to the album's songs in users' playlists and liked songs
         for (User user1 : Admin.getUsers()) {
             for (Playlist playlist : user1.getPlaylists()) {
-                playlist.getSongs().removeAll(albumToRemove.getSongs());
+                playlist.removeSongs(albumToRemove.getSongs());
             }
             user1.getLikedSongs().removeAll(albumToRemove.getSongs());
         }
@@ -239,12 +238,8 @@ public class Artist extends LibraryEntry implements UserVisitable, Subject {
         // Remove the album from the artist and update the system's album and song lists
         user.getAlbums().remove(albumToRemove);
         artist.getAlbums().remove(albumToRemove);
-        List<Album> albumsToRemove = Admin.getAlbums();
-        albumsToRemove.remove(albumToRemove);
-        Admin.updateAlbumList(albumsToRemove);
-        List<Song> songsToRemove = Admin.getSongs();
-        songsToRemove.removeAll(albumToRemove.getSongs());
-        Admin.updateSongList(songsToRemove);
+        Admin.removeAlbum(albumToRemove);
+        Admin.removeSongs(albumToRemove.getSongs());
         return commandInput.getUsername() + " deleted the album successfully.";
     }
 
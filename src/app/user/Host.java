@@ -159,9 +159,7 @@ public class Host extends LibraryEntry implements UserVisitable {
         host.getPodcasts().add(podcast);
 
         // Update the list of podcasts in the system
-        List<Podcast> podcastsToAdd = Admin.getPodcasts();
-        podcastsToAdd.add(podcast);
-        Admin.updatePodcastList(podcastsToAdd);
+        Admin.addPodcast(podcast);
 
         return commandInput.getUsername() + " has added new podcast successfully.";
     }
@@ -215,9 +213,7 @@ public class Host extends LibraryEntry implements UserVisitable {
         host.getPodcasts().remove(podcastToRemove);
 
         // Update the list of podcasts in the system
-        List<Podcast> podcastsToRemove = Admin.getPodcasts();
-        podcastsToRemove.remove(podcastToRemove);
-        Admin.updatePodcastList(podcastsToRemove);
+        Admin.removePodcast(podcastToRemove);
 
         return commandInput.getUsername() + " deleted the podcast successfully.";
     }
@@ -122,7 +122,7 @@ public class User implements UserVisitable, Observer {
         playlists = new ArrayList<>();
         likedSongs = new ArrayList<>();
         followedPlaylists = new ArrayList<>();
-        player = new Player();
+        player = new Player(this);
         searchBar = new SearchBar(username);
         lastSearched = false;
         this.connectionStatus = Enums.ConnectionStatus.ONLINE;
@@ -275,12 +275,7 @@ public class User implements UserVisitable, Observer {
         }
 
         // Find the song being listened to in the list of available songs
-        for (Song song : Admin.getSongs()) {
-            if (song.getName().equals(songName)) {
-                songOnListen = song;
-                break;
-            }
-        }
+        songOnListen = Admin.getSong(songName);
 
         int containsSong = 1;
         int containsUser = 1;
@@ -302,23 +297,22 @@ public class User implements UserVisitable, Observer {
             }
 
             // Update listeners and set 'wasPlayed' flag for the artist
-            for (Artist artist : Admin.getArtists()) {
-                if (songOnListen.getArtist().equals(artist.getName())) {
-                    for (UserWrapp user : artist.getListeners()) {
-                        if (user.getUser().equals(this)) {
-                            user.incrementListens();
-                            break;
-                        } else {
-                            containsUser = 0;
-                        }
-                    }
-                    if (containsUser == 0) {
-                        artist.getListeners().add(new UserWrapp(this));
-                    }
-                    if (!artist.isWasPlayed()) {
-                        artist.setWasPlayed(true);
+            Artist artist = Admin.getArtist(songOnListen.getArtist());
+            if (artist != null) {
+                for (UserWrapp user : artist.getListeners()) {
+                    if (user.getUser().equals(this)) {
+                        user.incrementListens();
+                        break;
+                    } else {
+                        containsUser = 0;
                     }
                 }
+                if (containsUser == 0) {
+                    artist.getListeners().add(new UserWrapp(this));
+                }
+                if (!artist.isWasPlayed()) {
+                    artist.setWasPlayed(true);
+                }
             }
         }
     }
@@ -382,24 +376,23 @@ public class User implements UserVisitable, Observer {
             }
 
             // Update listeners for the podcast and host
-            for (Host host : Admin.getHosts()) {
-                if (podcastOnListen.getOwner().equals(host.getName())) {
-                    if (!host.containsListener(this.username)) {
-                        host.incrementListens();
-                        host.getListeners().add(new UserWrapp(this));
-                    }
-                    boolean hostContainsEpisode = false;
-                    for (EpisodeWrapp episode : host.getListenedEpisodes()) {
-                        if (episode.getEpisode().getName().equals(nameEpisode)) {
-                            episode.incrementListens();
-                            hostContainsEpisode = true;
-                            break;
-                        }
-                    }
-                    if (!hostContainsEpisode) {
-                        host.getListenedEpisodes().add(new EpisodeWrapp(episodeOnListen));
+            Host host = Admin.getHost(podcastOnListen.getOwner());
+            if (host != null) {
+                if (!host.containsListener(this.username)) {
+                    host.incrementListens();
+                    host.getListeners().add(new UserWrapp(this));
+                }
+                boolean hostContainsEpisode = false;
+                for (EpisodeWrapp episode : host.getListenedEpisodes()) {
+                    if (episode.getEpisode().getName().equals(nameEpisode)) {
+                        episode.incrementListens();
+                        hostContainsEpisode = true;
+                        break;
                     }
                 }
+                if (!hostContainsEpisode) {
+                    host.getListenedEpisodes().add(new EpisodeWrapp(episodeOnListen));
+                }
             }
             if ((searchedTime - loadTime) > getPlayerStats(this).getRemainedTime()) {
                 int index = podcastOnListen.getEpisodes().indexOf(episodeOnListen);
@@ -420,8 +413,8 @@ public class User implements UserVisitable, Observer {
     /**
      * Increments the listen count for a specific episode of a podcast associated with a given host.
      *
-     * This method iterates through the list of hosts managed by the Admin class, finds the host
-     * who owns the podcast currently being listened to, and increments the listen count for the
+     * This method looks up the host who owns the podcast currently being listened to, and
+     * increments the listen count for the
      * specified episode if it is found in the host's listened episodes list.
      *
      * @param episodeName The name of the episode for which the listen count should be incremented.
@@ -429,14 +422,13 @@ public class User implements UserVisitable, Observer {
      *                        being listened to.
      */
     public void incrementHostListens(final String episodeName, final Podcast podcastOnListen) {
-        for (Host host : Admin.getHosts()) {
-            if (podcastOnListen.getOwner().equals(host.getName())) {
-                for (EpisodeWrapp episode : host.getListenedEpisodes()) {
-                    if (episode.getEpisode().getName()
-                            .equals(episodeName)) {
-                        episode.incrementListens();
-                        break;
-                    }
+        Host host = Admin.getHost(podcastOnListen.getOwner());
+        if (host != null) {
+            for (EpisodeWrapp episode : host.getListenedEpisodes()) {
+                if (episode.getEpisode().getName()
+                        .equals(episodeName)) {
+                    episode.incrementListens();
+                    break;
                 }
             }
         }
@@ -515,6 +507,7 @@ public class User implements UserVisitable, Observer {
      * @return A message indicating the success of the status change.
      */
     public String switchConnectionStatus() {
+        player.catchUp();
         if (connectionStatus.equals(Enums.ConnectionStatus.ONLINE)) {
             connectionStatus = Enums.ConnectionStatus.OFFLINE;
         } else {
@@ -810,7 +803,9 @@ public class User implements UserVisitable, Observer {
             return "A playlist with the same name already exists.";
         }
 
-        playlists.add(new Playlist(name, username, timestamp));
+        Playlist playlist = new Playlist(name, username, timestamp);
+        playlists.add(playlist);
+        Admin.addPlaylist(playlist);
 
         return "Playlist created successfully.";
     }
@@ -968,13 +963,4 @@ public class User implements UserVisitable, Observer {
         return "This user's preferred genre is %s.".formatted(preferredGenre);
     }
 
-    /**
-     * Simulate time.
-     *
-     * @param time the time
-     */
-    public void simulateTime(final int time) {
-        player.simulatePlayer(time);
-    }
-
 }
@@ -1,5 +1,8 @@
 package app.utils;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class Enums { // diferite enumuri, le-am gurpat pe toate intr-un loc
     public enum Genre {
         POP,
@@ -38,4 +41,94 @@ public class Enums { // diferite enumuri, le-am gurpat pe toate intr-un loc
         HOST,
         DEFAULT
     }
+
+    /**
+     * The commands of the input files. The name of a command is resolved to its type once,
+     * when the command is read, so the commands are dispatched without comparing strings.
+     */
+    public enum CommandType {
+        SEARCH("search"),
+        SELECT("select"),
+        LOAD("load"),
+        PLAY_PAUSE("playPause"),
+        REPEAT("repeat"),
+        SHUFFLE("shuffle"),
+        FORWARD("forward"),
+        BACKWARD("backward"),
+        LIKE("like"),
+        NEXT("next"),
+        PREV("prev"),
+        CREATE_PLAYLIST("createPlaylist"),
+        ADD_REMOVE_IN_PLAYLIST("addRemoveInPlaylist"),
+        SWITCH_VISIBILITY("switchVisibility"),
+        SHOW_PLAYLISTS("showPlaylists"),
+        FOLLOW("follow"),
+        STATUS("status"),
+        SHOW_PREFERRED_SONGS("showPreferredSongs"),
+        GET_PREFERRED_GENRE("getPreferredGenre"),
+        GET_TOP5_SONGS("getTop5Songs"),
+        GET_TOP5_PLAYLISTS("getTop5Playlists"),
+        SWITCH_CONNECTION_STATUS("switchConnectionStatus"),
+        GET_ONLINE_USERS("getOnlineUsers"),
+        ADD_USER("addUser"),
+        DELETE_USER("deleteUser"),
+        ADD_ALBUM("addAlbum"),
+        REMOVE_ALBUM("removeAlbum"),
+        SHOW_ALBUMS("showAlbums"),
+        GET_TOP5_ALBUMS("getTop5Albums"),
+        PRINT_CURRENT_PAGE("printCurrentPage"),
+        CHANGE_PAGE("changePage"),
+        ADD_EVENT("addEvent"),
+        REMOVE_EVENT("removeEvent"),
+        ADD_MERCH("addMerch"),
+        ADD_PODCAST("addPodcast"),
+        REMOVE_PODCAST("removePodcast"),
+        SHOW_PODCASTS("showPodcasts"),
+        ADD_ANNOUNCEMENT("addAnnouncement"),
+        REMOVE_ANNOUNCEMENT("removeAnnouncement"),
+        GET_ALL_USERS("getAllUsers"),
+        GET_TOP5_ARTISTS("getTop5Artists"),
+        BUY_MERCH("buyMerch"),
+        SEE_MERCH("seeMerch"),
+        SUBSCRIBE("subscribe"),
+        GET_NOTIFICATIONS("getNotifications"),
+        UPDATE_RECOMMENDATIONS("updateRecommendations"),
+        PREVIOUS_PAGE("previousPage"),
+        NEXT_PAGE("nextPage"),
+        LOAD_RECOMMENDATIONS("loadRecommendations"),
+        WRAPPED("wrapped");
+
+        private static final Map<String, CommandType> BY_NAME = new HashMap<>();
+
+        static {
+            for (CommandType type : values()) {
+                BY_NAME.put(type.commandName, type);
+            }
+        }
+
+        private final String commandName;
+
+        CommandType(final String commandName) {
+            this.commandName = commandName;
+        }
+
+        /**
+         * Gets the name of the command, as it appears in the input files.
+         *
+         * @return the command name
+         */
+        public String getCommandName() {
+            return commandName;
+        }
+
+        /**
+         * Resolves the name of a command.
+         *
+         * @param commandName the command name
+         * @return the type of the command, or null if there is no such command
+         */
+        public static CommandType fromName(final String commandName) {
+            return BY_NAME.get(commandName);
+        }
+    }
 }
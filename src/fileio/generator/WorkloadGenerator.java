@@ -0,0 +1,389 @@
+package fileio.generator;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates large libraries and command files from a seed, in the format of the files of
+ * {@code input/}. The same seed and settings always give the same files. Everything is
+ * streamed to disk as it is generated, so the size of the output is not bounded by memory.
+ * <p>
+ * The library has {@code songs} songs spread over albums and artists, {@code podcasts}
+ * podcasts of {@code episodes} episodes each and {@code users} users. The command file has
+ * {@code commands} actions drawn from {@code mix}, a list of {@code action:weight} pairs:
+ * <ul>
+ *     <li>search - a user searches songs by the prefix of a name</li>
+ *     <li>load - a user searches an album, selects it and loads it</li>
+ *     <li>like - a user likes what is playing</li>
+ *     <li>addAlbum - an artist publishes an album, the artist being added first if needed</li>
+ *     <li>deleteUser - a listener is deleted</li>
+ *     <li>wrapped - a user asks for their wrapped</li>
+ * </ul>
+ * Popular songs, albums and users are picked more often than the rest.
+ * <p>
+ * Usage: {@code WorkloadGenerator <output dir> [key=value...]}; the library is written to
+ * {@code <output dir>/library/library.json} and the commands to
+ * {@code <output dir>/<name>.json}.
+ */
+public final class WorkloadGenerator {
+    public static final String DEFAULT_MIX =
+            "search:30,load:25,like:20,addAlbum:5,deleteUser:1,wrapped:4";
+    private static final Set<String> ACTIONS =
+            Set.of("search", "load", "like", "addAlbum", "deleteUser", "wrapped");
+    private static final int SONGS_PER_ALBUM = 10;
+    private static final int ALBUMS_PER_ARTIST = 10;
+    private static final int MIN_DURATION = 60;
+    private static final int MAX_DURATION = 420;
+    private static final int FIRST_YEAR = 1960;
+    private static final int YEARS = 64;
+    private static final int MIN_AGE = 14;
+    private static final int AGES = 60;
+    private static final int TAGS = 200;
+    private static final int TAGS_PER_SONG = 3;
+    private static final int MAX_STEP = 30;
+    private static final double SKEW = 3.0;
+    private static final int RECENT_LOADS = 100;
+    private static final String[] GENRES = {"pop", "rock", "rap", "jazz", "metal", "blues",
+        "country", "electronic", "folk", "classical"};
+    private static final String[] CITIES = {"Bucharest", "Cluj", "Iasi", "Timisoara",
+        "Constanta", "Brasov", "Craiova", "Galati"};
+    private static final String[] WORDS = {"love", "night", "road", "fire", "river", "heart",
+        "light", "dream", "rain", "city", "stone", "wild", "blue", "gold", "storm", "home"};
+
+    private final Random random;
+    private final int songs;
+    private final int podcasts;
+    private final int episodes;
+    private final int users;
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+
+    private final List<String> listeners = new ArrayList<>();
+    private final List<String> artists = new ArrayList<>();
+    // the users that loaded something lately, the ones likely to like what they hear
+    private final List<String> recentLoads = new ArrayList<>();
+    private int albums;
+    private int timestamp;
+
+    /**
+     * Instantiates a new WorkloadGenerator.
+     *
+     * @param seed     the seed of all random choices
+     * @param songs    the number of songs of the library
+     * @param podcasts the number of podcasts of the library
+     * @param episodes the number of episodes of each podcast
+     * @param users    the number of users of the library
+     * @param mix      the weight of every action of the command file
+     */
+    public WorkloadGenerator(final long seed, final int songs, final int podcasts,
+                             final int episodes, final int users,
+                             final Map<String, Integer> mix) {
+        this.random = new Random(seed);
+        this.songs = songs;
+        this.podcasts = podcasts;
+        this.episodes = episodes;
+        this.users = users;
+        this.mix = new LinkedHashMap<>(mix);
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("The command mix has no weight: " + mix);
+        }
+        for (String action : mix.keySet()) {
+            if (!ACTIONS.contains(action)) {
+                throw new IllegalArgumentException("Unknown action in the command mix: "
+                        + action);
+            }
+        }
+    }
+
+    /**
+     * Parses a command mix.
+     *
+     * @param mix the mix, as comma separated {@code action:weight} pairs
+     * @return the weight of every action
+     */
+    public static Map<String, Integer> parseMix(final String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected action:weight, got " + entry);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * Writes the library file.
+     *
+     * @param file the library file
+     * @throws IOException in case of exceptions to writing
+     */
+    public void writeLibrary(final File file) throws IOException {
+        try (JsonGenerator json = open(file)) {
+            json.writeStartObject();
+
+            json.writeArrayFieldStart("users");
+            for (int user = 0; user < users; user++) {
+                String username = "user" + user;
+                listeners.add(username);
+                json.writeStartObject();
+                json.writeStringField("username", username);
+                json.writeNumberField("age", MIN_AGE + random.nextInt(AGES));
+                json.writeStringField("city", CITIES[random.nextInt(CITIES.length)]);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("songs");
+            for (int song = 0; song < songs; song++) {
+                int album = song / SONGS_PER_ALBUM;
+                writeSong(json, "song" + song, "library album" + album,
+                        "library artist" + album / ALBUMS_PER_ARTIST,
+                        FIRST_YEAR + album % YEARS);
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("podcasts");
+            for (int podcast = 0; podcast < podcasts; podcast++) {
+                json.writeStartObject();
+                json.writeStringField("name", "podcast" + podcast);
+                json.writeStringField("owner", "host" + podcast % (users + 1));
+                json.writeArrayFieldStart("episodes");
+                for (int episode = 0; episode < episodes; episode++) {
+                    json.writeStartObject();
+                    json.writeStringField("name", "podcast" + podcast + " episode" + episode);
+                    json.writeNumberField("duration", duration());
+                    json.writeStringField("description", phrase());
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes a command file. Must be called after {@link #writeLibrary(File)}, since the
+     * commands are given by the users of the library.
+     *
+     * @param file     the command file
+     * @param commands the number of actions to generate
+     * @throws IOException in case of exceptions to writing
+     */
+    public void writeCommands(final File file, final int commands) throws IOException {
+        try (JsonGenerator json = open(file)) {
+            json.writeStartArray();
+            for (int command = 0; command < commands && !listeners.isEmpty(); command++) {
+                timestamp += 1 + random.nextInt(MAX_STEP);
+                switch (pickAction()) {
+                    case "search" -> writeSearch(json);
+                    case "load" -> writeLoad(json);
+                    case "like" -> writeSimple(json, "like", recentLoads.isEmpty()
+                            ? pickListener()
+                            : recentLoads.get(random.nextInt(recentLoads.size())));
+                    case "addAlbum" -> writeAddAlbum(json);
+                    case "deleteUser" -> writeDeleteUser(json);
+                    case "wrapped" -> writeSimple(json, "wrapped", pickListener());
+                    default -> throw new IllegalStateException();
+                }
+            }
+            json.writeEndArray();
+        }
+    }
+
+    private void writeSearch(final JsonGenerator json) throws IOException {
+        writeStart(json, "search", pickListener());
+        json.writeStringField("type", "song");
+        json.writeObjectFieldStart("filters");
+        json.writeStringField("name", "song" + skewed(songs));
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private void writeLoad(final JsonGenerator json) throws IOException {
+        String username = pickListener();
+        // albums only exist once artists publish them, until then songs get loaded
+        boolean album = albums > 0 && (songs == 0 || random.nextBoolean());
+
+        writeStart(json, "search", username);
+        json.writeStringField("type", album ? "album" : "song");
+        json.writeObjectFieldStart("filters");
+        json.writeStringField("name", album ? "album" + skewed(albums) : "song" + skewed(songs));
+        json.writeEndObject();
+        json.writeEndObject();
+
+        writeStart(json, "select", username);
+        json.writeNumberField("itemNumber", 1);
+        json.writeEndObject();
+
+        writeSimple(json, "load", username);
+        recentLoads.add(username);
+        if (recentLoads.size() > RECENT_LOADS) {
+            recentLoads.remove(0);
+        }
+    }
+
+    private void writeDeleteUser(final JsonGenerator json) throws IOException {
+        String username = listeners.remove(random.nextInt(listeners.size()));
+        recentLoads.removeIf(username::equals);
+        writeSimple(json, "deleteUser", username);
+    }
+
+    private void writeAddAlbum(final JsonGenerator json) throws IOException {
+        if (artists.isEmpty() || random.nextInt(ALBUMS_PER_ARTIST) == 0) {
+            String artist = "artist" + artists.size();
+            artists.add(artist);
+            writeStart(json, "addUser", artist);
+            json.writeStringField("type", "artist");
+            json.writeNumberField("age", MIN_AGE + random.nextInt(AGES));
+            json.writeStringField("city", CITIES[random.nextInt(CITIES.length)]);
+            json.writeEndObject();
+        }
+
+        String artist = artists.get(random.nextInt(artists.size()));
+        String album = "album" + albums;
+        int releaseYear = FIRST_YEAR + random.nextInt(YEARS);
+        writeStart(json, "addAlbum", artist);
+        json.writeStringField("name", album);
+        json.writeNumberField("releaseYear", releaseYear);
+        json.writeStringField("description", phrase());
+        json.writeArrayFieldStart("songs");
+        for (int track = 0; track < SONGS_PER_ALBUM; track++) {
+            writeSong(json, album + " track" + track, album, artist, releaseYear);
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        albums++;
+    }
+
+    private void writeSimple(final JsonGenerator json, final String command,
+                             final String username) throws IOException {
+        writeStart(json, command, username);
+        json.writeEndObject();
+    }
+
+    private void writeStart(final JsonGenerator json, final String command,
+                            final String username) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("command", command);
+        json.writeStringField("username", username);
+        json.writeNumberField("timestamp", timestamp);
+    }
+
+    private void writeSong(final JsonGenerator json, final String name, final String album,
+                           final String artist, final int releaseYear) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("name", name);
+        json.writeNumberField("duration", duration());
+        json.writeStringField("album", album);
+        json.writeArrayFieldStart("tags");
+        for (int tag = 0; tag < TAGS_PER_SONG; tag++) {
+            json.writeString("#tag" + random.nextInt(TAGS));
+        }
+        json.writeEndArray();
+        json.writeStringField("lyrics", phrase());
+        json.writeStringField("genre", GENRES[random.nextInt(GENRES.length)]);
+        json.writeNumberField("releaseYear", releaseYear);
+        json.writeStringField("artist", artist);
+        json.writeEndObject();
+    }
+
+    private String pickAction() {
+        int pick = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private String pickListener() {
+        return listeners.get(skewed(listeners.size()));
+    }
+
+    // an index below bound, low indexes being much more likely than high ones
+    private int skewed(final int bound) {
+        return (int) (bound * Math.pow(random.nextDouble(), SKEW));
+    }
+
+    private int duration() {
+        return MIN_DURATION + random.nextInt(MAX_DURATION - MIN_DURATION);
+    }
+
+    private String phrase() {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                + " " + WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static JsonGenerator open(final File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Can't create " + parent.getPath());
+        }
+        return new JsonFactory().createGenerator(
+                new BufferedOutputStream(new FileOutputStream(file)), JsonEncoding.UTF8);
+    }
+
+    /**
+     * Generates a library and a command file.
+     *
+     * @param args the output directory, then any of {@code seed}, {@code songs},
+     *             {@code podcasts}, {@code episodes}, {@code users}, {@code commands},
+     *             {@code mix} and {@code name} as {@code key=value}
+     * @throws IOException in case of exceptions to writing
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: WorkloadGenerator <output dir> [key=value...]");
+            System.exit(1);
+        }
+
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("seed", "42");
+        options.put("songs", "10000");
+        options.put("podcasts", "100");
+        options.put("episodes", "10");
+        options.put("users", "1000");
+        options.put("commands", "10000");
+        options.put("mix", DEFAULT_MIX);
+        options.put("name", "generated");
+        for (int i = 1; i < args.length; i++) {
+            String[] option = args[i].split("=", 2);
+            if (option.length != 2 || !options.containsKey(option[0])) {
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+            options.put(option[0], option[1]);
+        }
+
+        WorkloadGenerator generator = new WorkloadGenerator(
+                Long.parseLong(options.get("seed")),
+                Integer.parseInt(options.get("songs")),
+                Integer.parseInt(options.get("podcasts")),
+                Integer.parseInt(options.get("episodes")),
+                Integer.parseInt(options.get("users")),
+                parseMix(options.get("mix")));
+        File directory = new File(args[0]);
+        generator.writeLibrary(new File(directory, "library/library.json"));
+        generator.writeCommands(new File(directory, options.get("name") + ".json"),
+                Integer.parseInt(options.get("commands")));
+    }
+}
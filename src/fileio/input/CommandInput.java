@@ -1,11 +1,14 @@
 package fileio.input;
 
 
+import app.utils.Enums;
+
 import java.util.ArrayList;
 
 
 public final class CommandInput {
     private String command;
+    private Enums.CommandType commandType; // rezolvat o singura data, la citire
     private String username;
     private Integer timestamp;
     private String type; // song / playlist / podcast
@@ -84,6 +87,16 @@ public final class CommandInput {
 
     public void setCommand(final String command) {
         this.command = command;
+        this.commandType = Enums.CommandType.fromName(command);
+    }
+
+    /**
+     * Gets the type of the command, resolved from its name when the command was read.
+     *
+     * @return the command type, or null if the name is not a known command
+     */
+    public Enums.CommandType getCommandType() {
+        return commandType;
     }
 
     public String getUsername() {
@@ -0,0 +1,79 @@
+package fileio.input;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the commands of an input file one at a time, so a command can be executed
+ * before the rest of the file has been parsed. Only the command currently being read
+ * is kept in memory, no matter how long the command file is.
+ */
+public final class CommandReader implements Iterator<CommandInput>, Closeable {
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private JsonToken currentToken;
+
+    /**
+     * Opens a command file and positions the reader on its first command.
+     *
+     * @param objectMapper the mapper used to bind each command
+     * @param file         the command file, a JSON array of commands
+     * @throws IOException if the file can't be read or is not a JSON array
+     */
+    public CommandReader(final ObjectMapper objectMapper, final File file) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(file);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("Expected an array of commands in " + file.getPath());
+        }
+        currentToken = parser.nextToken();
+    }
+
+    /**
+     * Checks if there is another command left in the file.
+     *
+     * @return true if another command can be read
+     */
+    @Override
+    public boolean hasNext() {
+        return currentToken == JsonToken.START_OBJECT;
+    }
+
+    /**
+     * Reads the next command from the file.
+     *
+     * @return the next command
+     */
+    @Override
+    public CommandInput next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            CommandInput command = objectMapper.readValue(parser, CommandInput.class);
+            currentToken = parser.nextToken();
+            return command;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the underlying file.
+     *
+     * @throws IOException in case of exceptions to closing the file
+     */
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
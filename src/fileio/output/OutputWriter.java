@@ -0,0 +1,109 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the results of the commands to the output file as soon as they are produced,
+ * as the elements of one JSON array. Results are not kept in memory once written. The
+ * array is only ended by {@link #finish()}, so the output of a run that failed part way
+ * is left unterminated rather than looking complete.
+ */
+public final class OutputWriter implements Closeable {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final int DEFAULT_FLUSH_INTERVAL = 32;
+    private final ObjectWriter objectWriter;
+    private final JsonGenerator generator;
+    private final int flushInterval;
+    private int unflushed;
+    private boolean finished;
+
+    /**
+     * Opens the output file with the default buffer size and flush interval.
+     *
+     * @param objectMapper the mapper used to serialize the results
+     * @param file         the output file
+     * @param compact      true to write compact JSON, false to pretty print it
+     * @throws IOException in case of exceptions to writing
+     */
+    public OutputWriter(final ObjectMapper objectMapper, final File file,
+                        final boolean compact) throws IOException {
+        this(objectMapper, file, compact, DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Opens the output file and starts the array of results.
+     *
+     * @param objectMapper  the mapper used to serialize the results
+     * @param file          the output file
+     * @param compact       true to write compact JSON, false to pretty print it
+     * @param bufferSize    the size in bytes of the buffer in front of the file
+     * @param flushInterval the number of results after which the buffer is flushed
+     * @throws IOException in case of exceptions to writing
+     */
+    public OutputWriter(final ObjectMapper objectMapper, final File file,
+                        final boolean compact, final int bufferSize,
+                        final int flushInterval) throws IOException {
+        this.objectWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.flushInterval = flushInterval;
+
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(file), bufferSize);
+        this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        // closing the generator must not end the array of a run that failed
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        if (!compact) {
+            generator.setPrettyPrinter(new DefaultPrettyPrinter());
+        }
+        generator.writeStartArray();
+    }
+
+    /**
+     * Writes the result of one command.
+     *
+     * @param result the result to write
+     * @throws IOException in case of exceptions to writing
+     */
+    public void write(final JsonNode result) throws IOException {
+        objectWriter.writeValue(generator, result);
+        unflushed++;
+        if (unflushed >= flushInterval) {
+            generator.flush();
+            unflushed = 0;
+        }
+    }
+
+    /**
+     * Ends the array of results, once every result of the run was written.
+     *
+     * @throws IOException in case of exceptions to writing
+     */
+    public void finish() throws IOException {
+        if (!finished) {
+            generator.writeEndArray();
+            finished = true;
+        }
+    }
+
+    /**
+     * Closes the output file. The array of results is left open unless the run finished.
+     *
+     * @throws IOException in case of exceptions to writing
+     */
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
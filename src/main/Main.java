@@ -1,26 +1,57 @@
 package main;
 
 import app.Admin;
+import app.CommandRegistry;
 import app.CommandRunner;
+import app.catalog.Catalog;
+import app.metrics.CommandMetrics;
+import app.player.BookmarkStore;
 import checker.Checker;
 import checker.CheckerConstants;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import fileio.input.CommandInput;
-import fileio.input.LibraryInput;
+import fileio.input.CommandReader;
+import fileio.output.OutputWriter;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The entry point to this homework. It runs the checker that tests your implentation.
  */
 public final class Main {
+    /**
+     * write the output files as compact JSON instead of pretty printing them
+     */
+    private static final boolean COMPACT_OUTPUT = Boolean.getBoolean("compactOutput");
+    /**
+     * record the latency of every command and dump it next to each output file
+     */
+    private static final boolean METRICS = Boolean.getBoolean("metrics");
+    /**
+     * the suffix of the metrics file written next to an output file
+     */
+    private static final String METRICS_SUFFIX = ".metrics.json";
+    /**
+     * the library shared by every input file, either JSON or a binary catalog
+     */
+    private static final String LIBRARY_PATH = System.getProperty("catalog",
+            CheckerConstants.TESTS_PATH + "library/library.json");
+    /**
+     * the directory keeping the podcast bookmarks of every input file between runs, if any
+     */
+    private static final String BOOKMARKS_PATH = System.getProperty("bookmarks");
+
     /**
      * for coding style
      */
@@ -28,7 +59,6 @@ public final class Main {
     }
 
     /**
-     * DO NOT MODIFY MAIN METHOD
      * Call the checker
      *
      * @param args from command line
@@ -47,6 +77,13 @@ public final class Main {
         }
         Files.createDirectories(path);
 
+        // The library is parsed once; every run starts from the same snapshot of it
+        Catalog catalog = Catalog.load(new File(LIBRARY_PATH));
+
+        // Every run has its own platform context, so the input files are replayed in parallel
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors());
+        List<Future<?>> runs = new ArrayList<>();
         for (File file : Objects.requireNonNull(directory.listFiles())) {
             if (file.getName().startsWith("library")) {
                 continue;
@@ -56,7 +93,19 @@ public final class Main {
             File out = new File(filepath);
             boolean isCreated = out.createNewFile();
             if (isCreated) {
-                action(file.getName(), filepath);
+                runs.add(executor.submit(() -> {
+                    action(file.getName(), filepath, catalog);
+                    return null;
+                }));
+            }
+        }
+        executor.shutdown();
+
+        for (Future<?> run : runs) {
+            try {
+                run.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IOException(e);
             }
         }
 
@@ -70,80 +119,65 @@ public final class Main {
      */
     public static void action(final String filePath1,
                               final String filePath2) throws IOException {
+        action(filePath1, filePath2, Catalog.load(new File(LIBRARY_PATH)));
+    }
+
+    /**
+     * @param filePath1 for input file
+     * @param filePath2 for output file
+     * @param catalog   the library the run starts from
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void action(final String filePath1, final String filePath2,
+                              final Catalog catalog) throws IOException {
         ObjectMapper objectMapper = new ObjectMapper();
-        LibraryInput library = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH + "library/library.json"), LibraryInput.class);
-        CommandInput[] commands = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH + filePath1), CommandInput[].class);
-        //CommandInput[] commands = objectMapper.readValue(new File("input/test10_etapa3_wrapped_host.json"), CommandInput[].class);
-        ArrayNode outputs = objectMapper.createArrayNode();
-
-        Admin.setUsers(library.getUsers());
-        Admin.setSongs(library.getSongs());
-        Admin.setPodcasts(library.getPodcasts());
-
-        for (CommandInput command : commands) {
-            Admin.updateTimestamp(command.getTimestamp());
-
-            String commandName = command.getCommand();
-
-            switch (commandName) {
-                case "search" -> outputs.add(CommandRunner.search(command));
-                case "select" -> outputs.add(CommandRunner.select(command));
-                case "load" -> outputs.add(CommandRunner.load(command));
-                case "playPause" -> outputs.add(CommandRunner.playPause(command));
-                case "repeat" -> outputs.add(CommandRunner.repeat(command));
-                case "shuffle" -> outputs.add(CommandRunner.shuffle(command));
-                case "forward" -> outputs.add(CommandRunner.forward(command));
-                case "backward" -> outputs.add(CommandRunner.backward(command));
-                case "like" -> outputs.add(CommandRunner.like(command));
-                case "next" -> outputs.add(CommandRunner.next(command));
-                case "prev" -> outputs.add(CommandRunner.prev(command));
-                case "createPlaylist" -> outputs.add(CommandRunner.createPlaylist(command));
-                case "addRemoveInPlaylist" -> outputs.add(CommandRunner.addRemoveInPlaylist(command));
-                case "switchVisibility" -> outputs.add(CommandRunner.switchVisibility(command));
-                case "showPlaylists" -> outputs.add(CommandRunner.showPlaylists(command));
-                case "follow" -> outputs.add(CommandRunner.follow(command));
-                case "status" -> outputs.add(CommandRunner.status(command));
-                case "showPreferredSongs" -> outputs.add(CommandRunner.showLikedSongs(command));
-                case "getPreferredGenre" -> outputs.add(CommandRunner.getPreferredGenre(command));
-                case "getTop5Songs" -> outputs.add(CommandRunner.getTop5Songs(command));
-                case "getTop5Playlists" -> outputs.add(CommandRunner.getTop5Playlists(command));
-                case "switchConnectionStatus" -> outputs.add(CommandRunner.switchConnectionStatus(command));
-                case "getOnlineUsers" -> outputs.add(CommandRunner.getOnlineUsers(command));
-                case "addUser" -> outputs.add(CommandRunner.addUser(command));
-                case "deleteUser" -> outputs.add(CommandRunner.deleteUser(command));
-                case "addAlbum" -> outputs.add(CommandRunner.addAlbum(command));
-                case "removeAlbum" -> outputs.add(CommandRunner.removeAlbum(command));
-                case "showAlbums" -> outputs.add(CommandRunner.showAlbums(command));
-                case "getTop5Albums" -> outputs.add(CommandRunner.getTop5Albums(command));
-                case "printCurrentPage" -> outputs.add(CommandRunner.printCurrentPage(command));
-                case "changePage" -> outputs.add(CommandRunner.changetPage(command));
-                case "addEvent" -> outputs.add(CommandRunner.addEvent(command));
-                case "removeEvent" -> outputs.add(CommandRunner.removeEvent(command));
-                case "addMerch" -> outputs.add(CommandRunner.addMerch(command));
-                case "addPodcast" -> outputs.add(CommandRunner.addPodcast(command));
-                case "removePodcast" -> outputs.add(CommandRunner.removePodcast(command));
-                case "showPodcasts" -> outputs.add(CommandRunner.showPodcasts(command));
-                case "addAnnouncement" -> outputs.add(CommandRunner.addAnnouncement(command));
-                case "removeAnnouncement" -> outputs.add(CommandRunner.removeAnnouncement(command));
-                case "getAllUsers" -> outputs.add(CommandRunner.getAllUsers(command));
-                case "getTop5Artists" -> outputs.add(CommandRunner.getTop5Artists(command));
-                case "buyMerch" -> outputs.add(CommandRunner.buyMerch(command));
-                case "seeMerch" -> outputs.add(CommandRunner.seeMerch(command));
-                case "subscribe" -> outputs.add(CommandRunner.subscribe(command));
-                case "getNotifications" -> outputs.add(CommandRunner.getNotifications(command));
-                case "updateRecommendations" -> outputs.add(CommandRunner.updateRecommendations(command));
-                case "previousPage" -> outputs.add(CommandRunner.previousPage(command));
-                case "nextPage" -> outputs.add(CommandRunner.nextPage(command));
-                case "loadRecommendations" -> outputs.add(CommandRunner.loadRecommendations(command));
-                case "wrapped" -> outputs.add(CommandRunner.wrapped(command));
-                default -> System.out.println("Invalid command " + commandName);
-            }
+        CommandRegistry registry = CommandRegistry.defaults();
+        CommandMetrics metrics = null;
+        if (METRICS) {
+            metrics = new CommandMetrics();
+            registry.addHook(metrics);
         }
-        outputs.add(CommandRunner.endProgram());
+        // the context stays on the pool thread otherwise, even when the run fails
+        try {
+            Admin.loadCatalog(catalog);
+            File bookmarks = null;
+            if (BOOKMARKS_PATH != null) {
+                Files.createDirectories(Paths.get(BOOKMARKS_PATH));
+                bookmarks = new File(BOOKMARKS_PATH, filePath1 + BookmarkStore.EXTENSION);
+                if (bookmarks.exists()) {
+                    Admin.restoreBookmarks(bookmarks);
+                }
+            }
+
+            try (CommandReader commands = new CommandReader(objectMapper,
+                    new File(CheckerConstants.TESTS_PATH + filePath1));
+                 OutputWriter output = new OutputWriter(objectMapper,
+                         new File(filePath2), COMPACT_OUTPUT)) {
+                while (commands.hasNext()) {
+                    CommandInput command = commands.next();
+                    Admin.updateTimestamp(command.getTimestamp());
 
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
-        objectWriter.writeValue(new File(filePath2), outputs);
+                    if (registry.canDispatch(command)) {
+                        output.write(registry.dispatch(command));
+                    } else {
+                        System.out.println("Invalid command " + command.getCommand());
+                    }
+                }
+                output.write(CommandRunner.endProgram());
+                output.finish();
+            }
 
-        Admin.reset();
+            if (bookmarks != null) {
+                Admin.saveBookmarks(bookmarks);
+            }
+
+            if (metrics != null) {
+                objectMapper.writerWithDefaultPrettyPrinter()
+                        .writeValue(new File(filePath2 + METRICS_SUFFIX),
+                                metrics.toJson(objectMapper));
+            }
+        } finally {
+            Admin.reset();
+        }
     }
 }